@@ -0,0 +1,59 @@
+package com.magizh.calendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AstronomyService primitives: one ephemeris position (getPlanetLongitude
+ * through its public wrappers), one sunrise, and the two root finders
+ * behind every angam end time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AstronomyBenchmark {
+
+    @Benchmark
+    public double sunLongitude(Services services, Cursor cursor) {
+        return services.astronomy.getSunLongitude(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public double moonLongitude(Services services, Cursor cursor) {
+        return services.astronomy.getMoonLongitude(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public ZonedDateTime sunrise(Services services, Cursor cursor) {
+        int i = cursor.next();
+        BenchmarkData.Location location = BenchmarkData.location(i);
+        return services.astronomy.calculateSunrise(BenchmarkData.date(i), location.lat(), location.lng(), location.zone());
+    }
+
+    @Benchmark
+    public ZonedDateTime findMoonAtLongitude(Services services, Cursor cursor) {
+        ZonedDateTime start = BenchmarkData.morning(cursor.next());
+        // The next nakshatram boundary, as NakshatramCalculator searches for it
+        double span = 360.0 / 27.0;
+        double target = ((int) (services.astronomy.getMoonLongitude(start) / span) + 1) * span % 360;
+        return services.astronomy.findMoonAtLongitude(start, target, 48);
+    }
+
+    @Benchmark
+    public ZonedDateTime findMoonSunAngle(Services services, Cursor cursor) {
+        ZonedDateTime start = BenchmarkData.morning(cursor.next());
+        // The next thithi boundary, as ThithiCalculator searches for it
+        double target = ((int) (services.astronomy.getMoonSunAngle(start) / 12.0) + 1) * 12.0 % 360;
+        return services.astronomy.findMoonSunAngle(start, target, 48);
+    }
+}
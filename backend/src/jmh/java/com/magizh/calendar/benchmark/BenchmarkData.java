@@ -0,0 +1,61 @@
+package com.magizh.calendar.benchmark;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * Fixed inputs shared by all benchmarks, so results are comparable across commits.
+ *
+ * 256 dates drawn with a fixed seed from 1950-2050 and the iOS preset
+ * cities spread over several timezones and latitudes. Each benchmark thread
+ * walks the same sequence from its own cursor.
+ */
+final class BenchmarkData {
+
+    static final int SIZE = 256;
+
+    record Location(String name, double lat, double lng, ZoneId zone) {}
+
+    static final Location[] LOCATIONS = {
+        new Location("Chennai", 13.0827, 80.2707, ZoneId.of("Asia/Kolkata")),
+        new Location("New Delhi", 28.6139, 77.2090, ZoneId.of("Asia/Kolkata")),
+        new Location("Colombo", 6.9271, 79.8612, ZoneId.of("Asia/Colombo")),
+        new Location("Singapore", 1.3521, 103.8198, ZoneId.of("Asia/Singapore")),
+        new Location("London", 51.5074, -0.1278, ZoneId.of("Europe/London")),
+        new Location("New York", 40.7128, -74.0060, ZoneId.of("America/New_York")),
+        new Location("Toronto", 43.6532, -79.3832, ZoneId.of("America/Toronto")),
+        new Location("Sydney", -33.8688, 151.2093, ZoneId.of("Australia/Sydney"))
+    };
+
+    static final LocalDate[] DATES = new LocalDate[SIZE];
+
+    static {
+        Random random = new Random(20260104L);
+        long start = LocalDate.of(1950, 1, 1).toEpochDay();
+        long end = LocalDate.of(2050, 12, 31).toEpochDay();
+        for (int i = 0; i < SIZE; i++) {
+            DATES[i] = LocalDate.ofEpochDay(start + (long) (random.nextDouble() * (end - start)));
+        }
+    }
+
+    private BenchmarkData() {
+    }
+
+    static LocalDate date(int i) {
+        return DATES[i & (SIZE - 1)];
+    }
+
+    static Location location(int i) {
+        return LOCATIONS[i % LOCATIONS.length];
+    }
+
+    /**
+     * 06:00 local time on the i-th date, a stand-in for sunrise where an
+     * exact sunrise is not what is being measured.
+     */
+    static ZonedDateTime morning(int i) {
+        return date(i).atTime(6, 0).atZone(location(i).zone());
+    }
+}
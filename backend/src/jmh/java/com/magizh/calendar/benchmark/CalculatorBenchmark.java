@@ -0,0 +1,62 @@
+package com.magizh.calendar.benchmark;
+
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.Timings;
+import com.magizh.calendar.model.Yogam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each calculator's {@code calculate} on its own, from a fixed 06:00 base time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    @Benchmark
+    public TamilDate tamilDate(Services services, Cursor cursor) {
+        int i = cursor.next();
+        return services.tamilCalendar.calculate(BenchmarkData.date(i), BenchmarkData.morning(i));
+    }
+
+    @Benchmark
+    public Nakshatram nakshatram(Services services, Cursor cursor) {
+        return services.nakshatram.calculate(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public Thithi thithi(Services services, Cursor cursor) {
+        return services.thithi.calculate(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public Yogam yogam(Services services, Cursor cursor) {
+        return services.yogam.calculate(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public Karanam karanam(Services services, Cursor cursor) {
+        return services.karanam.calculate(BenchmarkData.morning(cursor.next()));
+    }
+
+    @Benchmark
+    public Timings timings(Services services, Cursor cursor) {
+        int i = cursor.next();
+        ZonedDateTime sunrise = BenchmarkData.morning(i);
+        return services.timings.calculate(sunrise, sunrise.plusHours(12), BenchmarkData.date(i).getDayOfWeek());
+    }
+}
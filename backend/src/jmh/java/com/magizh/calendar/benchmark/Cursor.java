@@ -0,0 +1,18 @@
+package com.magizh.calendar.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread position in the dataset. Advancing on every invocation keeps
+ * the JIT from specializing on one input.
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    private int index;
+
+    int next() {
+        return index++ & (BenchmarkData.SIZE - 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.magizh.calendar.benchmark;
+
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.service.PanchangamService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end PanchangamService: a full day and a week, computed (empty cache)
+ * and served from a warm cache, on one thread and on all cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PanchangamServiceBenchmark {
+
+    @Benchmark
+    public PanchangamResponse daily(Services services, Cursor cursor) {
+        return daily(services, cursor, services.uncached);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PanchangamResponse dailyParallel(Services services, Cursor cursor) {
+        return daily(services, cursor, services.uncached);
+    }
+
+    @Benchmark
+    public PanchangamResponse dailyCached(Services services, Cursor cursor) {
+        return daily(services, cursor, services.cached);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PanchangamResponse dailyCachedParallel(Services services, Cursor cursor) {
+        return daily(services, cursor, services.cached);
+    }
+
+    @Benchmark
+    public List<PanchangamResponse> weekly(Services services, Cursor cursor) {
+        int i = cursor.next();
+        BenchmarkData.Location location = BenchmarkData.location(i);
+        return services.uncached.getWeeklyPanchangam(BenchmarkData.date(i), location.lat(), location.lng(),
+                location.zone().getId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<PanchangamResponse> weeklyParallel(Services services, Cursor cursor) {
+        return weekly(services, cursor);
+    }
+
+    private static PanchangamResponse daily(Services services, Cursor cursor,
+                                            PanchangamService service) {
+        int i = cursor.next();
+        BenchmarkData.Location location = BenchmarkData.location(i);
+        return service.getDailyPanchangam(BenchmarkData.date(i), location.lat(), location.lng(),
+                location.zone().getId());
+    }
+}
@@ -0,0 +1,59 @@
+package com.magizh.calendar.benchmark;
+
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.PanchangamService;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The service graph, wired by hand as in the JUnit tests and shared by all
+ * benchmark threads like the singletons in the running app.
+ */
+@State(Scope.Benchmark)
+public class Services {
+
+    AstronomyService astronomy;
+    NakshatramCalculator nakshatram;
+    ThithiCalculator thithi;
+    YogamCalculator yogam;
+    KaranamCalculator karanam;
+    TimingsCalculator timings;
+    TamilCalendarService tamilCalendar;
+
+    /** Cache holds nothing, so every call computes. */
+    PanchangamService uncached;
+
+    /** Cache large enough for the whole dataset. */
+    PanchangamService cached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        astronomy = new AstronomyService(registry);
+        astronomy.init();
+        nakshatram = new NakshatramCalculator(astronomy);
+        thithi = new ThithiCalculator(astronomy);
+        yogam = new YogamCalculator(astronomy, registry);
+        karanam = new KaranamCalculator(astronomy);
+        timings = new TimingsCalculator(new GowriCalculator());
+        tamilCalendar = new TamilCalendarService(astronomy);
+        uncached = panchangamService(registry, 0);
+        cached = panchangamService(registry, 100_000);
+    }
+
+    private PanchangamService panchangamService(SimpleMeterRegistry registry, int cacheEntries) {
+        return new PanchangamService(astronomy, nakshatram, thithi, yogam, karanam, timings,
+                tamilCalendar, new PanchangamCache(cacheEntries), registry);
+    }
+}
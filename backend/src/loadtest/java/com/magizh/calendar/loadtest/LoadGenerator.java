@@ -0,0 +1,122 @@
+package com.magizh.calendar.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive as a Poisson process at the configured
+ * rate, whether or not earlier ones have finished, like independent users.
+ * A closed loop of N workers would instead slow down with the server and
+ * hide exactly the queueing we want to see.
+ *
+ * Latency is measured from the time a request was scheduled to arrive, not
+ * from when it was actually sent, so a stalled client or server shows up in
+ * the tail instead of being silently skipped (coordinated omission).
+ */
+final class LoadGenerator {
+
+    /** Latencies are recorded in microseconds up to this value; slower ones are clamped. */
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final LoadTestConfig config;
+    private final String apiKey;
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+
+    LoadGenerator(LoadTestConfig config, String apiKey) {
+        this.config = config;
+        this.apiKey = apiKey;
+    }
+
+    LoadResult run(Workload workload) throws InterruptedException {
+        SplittableRandom arrivals = new SplittableRandom(config.seed());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofMillis(config.timeoutMillis()))
+                    .executor(executor)
+                    .build();
+
+            long start = System.nanoTime();
+            long measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+            long end = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+            for (long next = start; next < end; next += (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos)) {
+                long now;
+                while ((now = System.nanoTime()) < next) {
+                    LockSupport.parkNanos(next - now);
+                }
+                boolean measured = next >= measureStart;
+                if (inFlight.get() >= config.maxInFlight()) {
+                    // The client is saturated; sending anyway would only measure the client
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                send(client, workload.next(), next, measured);
+            }
+
+            long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.timeoutMillis() + 1000);
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            executor.shutdownNow();
+        }
+
+        Map<Integer, Long> statuses = new TreeMap<>();
+        errorStatuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        return new LoadResult(config, histogram, sent.sum(), succeeded.sum(), failed.sum(), dropped.sum(), statuses);
+    }
+
+    private void send(HttpClient client, URI uri, long intendedStart, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-API-Key", apiKey)
+                .timeout(Duration.ofMillis(config.timeoutMillis()))
+                .GET()
+                .build();
+        inFlight.incrementAndGet();
+        if (measured) {
+            sent.increment();
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latencyNanos = System.nanoTime() - intendedStart;
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+            if (error != null) {
+                failed.increment();
+            } else if (response.statusCode() / 100 == 2) {
+                succeeded.increment();
+            } else {
+                errorStatuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+            }
+        });
+    }
+}
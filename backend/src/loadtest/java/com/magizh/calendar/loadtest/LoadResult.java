@@ -0,0 +1,103 @@
+package com.magizh.calendar.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a run: the latency histogram (microseconds) and request counts
+ * for the measured phase only.
+ *
+ * @param sent          Requests sent
+ * @param succeeded     2xx responses
+ * @param failed        Requests with no response (timeouts, connection errors)
+ * @param dropped       Arrivals not sent because too many requests were outstanding
+ * @param errorStatuses Count of each non-2xx status
+ */
+record LoadResult(
+        LoadTestConfig config,
+        Histogram histogram,
+        long sent,
+        long succeeded,
+        long failed,
+        long dropped,
+        Map<Integer, Long> errorStatuses
+) {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    long errors() {
+        return failed + dropped + errorStatuses.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double errorRate() {
+        long attempted = sent + dropped;
+        return attempted == 0 ? 0 : (double) errors() / attempted;
+    }
+
+    double throughput() {
+        return succeeded / (double) config.durationSeconds();
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return one line per exceeded limit; empty if the run is within budget
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        config.budget().forEach((percentile, limitMillis) -> {
+            double actual = percentileMillis(percentile);
+            if (actual > limitMillis) {
+                violations.add(String.format("p%s %.1f ms > %.1f ms", format(percentile), actual, limitMillis));
+            }
+        });
+        if (errorRate() > config.maxErrorRate()) {
+            violations.add(String.format("error rate %.3f%% > %.3f%%", errorRate() * 100, config.maxErrorRate() * 100));
+        }
+        return violations;
+    }
+
+    void print(PrintStream out) {
+        out.printf("Requests:   %d sent, %d ok, %d errors (%.3f%%), %d dropped, %d failed%n",
+                sent, succeeded, errors(), errorRate() * 100, dropped, failed);
+        errorStatuses.forEach((status, count) -> out.printf("            status %d: %d%n", status, count));
+        out.printf("Throughput: %.1f req/s (offered %.1f req/s)%n", throughput(), config.rate());
+        out.println("Latency from scheduled arrival (ms):");
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%-6s %9.2f%n", format(percentile), percentileMillis(percentile));
+        }
+        out.printf("  %-7s %9.2f%n", "max", histogram.getMaxValue() / 1000.0);
+        if (!config.budget().isEmpty()) {
+            out.println("Budget:");
+            config.budget().forEach((percentile, limitMillis) -> out.printf("  p%-6s %9.2f <= %.1f %s%n",
+                    format(percentile), percentileMillis(percentile), limitMillis,
+                    percentileMillis(percentile) <= limitMillis ? "ok" : "FAILED"));
+        }
+    }
+
+    /**
+     * Write the full percentile distribution in HdrHistogram's .hgrm format
+     * (milliseconds), for plotting or comparing runs.
+     */
+    void writeDistribution(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,77 @@
+package com.magizh.calendar.loadtest;
+
+import com.magizh.calendar.MagizhCalendarApiApplication;
+import com.magizh.calendar.config.CityProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the full app on a random port, drives it with {@link LoadGenerator}
+ * and prints a latency report. Exits non-zero when the run breaks the
+ * latency budget or error rate, so it can gate a build.
+ *
+ * Arguments are load test options ({@code rate=300 duration=120}, see
+ * {@link LoadTestConfig}) and app properties ({@code --api.cache.max-entries=0}).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        String apiKey = "loadtest-" + UUID.randomUUID();
+
+        properties.put("server.port", "0");
+        properties.put("api.security.keys.ios", apiKey);
+        // The rate limiter still runs on every request; only the budget is lifted
+        properties.put("api.ratelimit.tiers.standard", "1000000000");
+        properties.put("api.bundle.schedule-enabled", "false");
+        // Access records are still captured and formatted, just not printed
+        properties.put("logging.level.com.magizh", "INFO");
+        properties.put("logging.level.com.magizh.calendar.access", "WARN");
+
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                properties.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                options.add(arg);
+            }
+        }
+        LoadTestConfig config = LoadTestConfig.parse(options);
+
+        List<String> appArgs = new ArrayList<>();
+        properties.forEach((key, value) -> appArgs.add("--" + key + "=" + value));
+
+        boolean passed;
+        try (ConfigurableApplicationContext context =
+                     SpringApplication.run(MagizhCalendarApiApplication.class, appArgs.toArray(String[]::new))) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            List<CityProperties.City> cities = context.getBean(CityProperties.class).cities();
+            Workload workload = new Workload("http://localhost:" + port, cities, config);
+
+            System.out.printf("%nLoad test: %.1f req/s for %ds after %ds warmup, %.0f%% weekly, cities %s%n",
+                    config.rate(), config.durationSeconds(), config.warmupSeconds(),
+                    config.weeklyShare() * 100, workload.describe());
+
+            LoadResult result = new LoadGenerator(config, apiKey).run(workload);
+            result.print(System.out);
+            result.writeDistribution(Path.of(config.report()));
+            System.out.println("Distribution: " + config.report());
+
+            List<String> violations = result.violations();
+            violations.forEach(violation -> System.out.println("FAILED: " + violation));
+            passed = violations.isEmpty();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+}
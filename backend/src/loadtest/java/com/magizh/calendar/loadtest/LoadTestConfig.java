@@ -0,0 +1,107 @@
+package com.magizh.calendar.loadtest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Load test settings, given as {@code key=value} arguments.
+ *
+ * @param rate            Target arrival rate in requests per second
+ * @param durationSeconds Measured duration
+ * @param warmupSeconds   Unmeasured run-in at the same rate, so the JIT and caches settle first
+ * @param zipfExponent    Skew of the city distribution (0 = uniform)
+ * @param weeklyShare     Fraction of requests that ask for a week instead of a day
+ * @param maxInFlight     Outstanding requests beyond which new arrivals are counted as dropped
+ * @param timeoutMillis   Per-request timeout
+ * @param seed            Seed for arrivals, cities and dates
+ * @param budget          Latency budget: percentile (e.g. 99.0) to maximum milliseconds
+ * @param maxErrorRate    Highest tolerated share of failed requests
+ * @param report          Where to write the full HDR percentile distribution
+ */
+record LoadTestConfig(
+        double rate,
+        int durationSeconds,
+        int warmupSeconds,
+        double zipfExponent,
+        double weeklyShare,
+        int maxInFlight,
+        long timeoutMillis,
+        long seed,
+        Map<Double, Double> budget,
+        double maxErrorRate,
+        String report
+) {
+
+    static final Map<String, String> DEFAULTS = defaults();
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("rate", "200");
+        defaults.put("duration", "60");
+        defaults.put("warmup", "15");
+        defaults.put("zipf", "1.0");
+        defaults.put("weekly-share", "0.1");
+        defaults.put("max-in-flight", "2000");
+        defaults.put("timeout-ms", "10000");
+        defaults.put("seed", "42");
+        defaults.put("budget", "p50:20,p99:250,p99.9:1000");
+        defaults.put("max-error-rate", "0.001");
+        defaults.put("report", "target/loadtest.hgrm");
+        return Collections.unmodifiableMap(defaults);
+    }
+
+    /**
+     * Parse {@code key=value} arguments over the defaults.
+     */
+    static LoadTestConfig parse(Iterable<String> args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Unknown load test option: " + arg
+                        + " (known: " + DEFAULTS.keySet() + ")");
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                Double.parseDouble(values.get("rate")),
+                Integer.parseInt(values.get("duration")),
+                Integer.parseInt(values.get("warmup")),
+                Double.parseDouble(values.get("zipf")),
+                Double.parseDouble(values.get("weekly-share")),
+                Integer.parseInt(values.get("max-in-flight")),
+                Long.parseLong(values.get("timeout-ms")),
+                Long.parseLong(values.get("seed")),
+                parseBudget(values.get("budget")),
+                Double.parseDouble(values.get("max-error-rate")),
+                values.get("report"));
+        if (config.rate <= 0 || config.durationSeconds <= 0 || config.warmupSeconds < 0) {
+            throw new IllegalArgumentException("rate and duration must be positive, warmup not negative");
+        }
+        return config;
+    }
+
+    /**
+     * "p50:20,p99:250" to {50.0=20.0, 99.0=250.0}; an empty string means no budget.
+     */
+    static Map<Double, Double> parseBudget(String spec) {
+        Map<Double, Double> budget = new TreeMap<>();
+        if (spec.isBlank()) {
+            return budget;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.strip().split(":");
+            if (parts.length != 2 || !parts[0].startsWith("p")) {
+                throw new IllegalArgumentException("Budget entries look like p99:250, got: " + entry);
+            }
+            double percentile = Double.parseDouble(parts[0].substring(1));
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile out of range: " + entry);
+            }
+            budget.put(percentile, Double.parseDouble(parts[1]));
+        }
+        return budget;
+    }
+}
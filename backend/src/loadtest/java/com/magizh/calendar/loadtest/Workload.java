@@ -0,0 +1,67 @@
+package com.magizh.calendar.loadtest;
+
+import com.magizh.calendar.config.CityProperties.City;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The request mix. Cities are Zipf-distributed in configured order, so
+ * Chennai is the most requested and Sydney the least. Dates follow how the
+ * app is used: most requests look at the coming weeks, a few browse other
+ * years. A share of requests ask for a week instead of a day.
+ *
+ * Only the arrival loop draws requests, so nothing here is thread-safe.
+ */
+final class Workload {
+
+    /** Share of requests for dates near today; the rest are anywhere in 1950-2050. */
+    private static final double NEAR_TODAY_SHARE = 0.8;
+    private static final LocalDate FIRST = LocalDate.of(1950, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2050, 12, 31);
+
+    private final String baseUrl;
+    private final List<City> cities;
+    private final ZipfSampler citySampler;
+    private final double weeklyShare;
+    private final LocalDate today = LocalDate.now();
+    private final SplittableRandom random;
+
+    Workload(String baseUrl, List<City> cities, LoadTestConfig config) {
+        this.baseUrl = baseUrl;
+        this.cities = List.copyOf(cities);
+        this.citySampler = new ZipfSampler(cities.size(), config.zipfExponent());
+        this.weeklyShare = config.weeklyShare();
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    URI next() {
+        City city = cities.get(citySampler.sample(random));
+        LocalDate date = random.nextDouble() < NEAR_TODAY_SHARE
+                ? today.plusDays(random.nextInt(-7, 31))
+                : LocalDate.ofEpochDay(random.nextLong(FIRST.toEpochDay(), LAST.toEpochDay() + 1));
+        boolean weekly = random.nextDouble() < weeklyShare;
+
+        return URI.create(baseUrl + "/api/panchangam/" + (weekly ? "weekly?startDate=" : "daily?date=") + date
+                + "&lat=" + city.lat()
+                + "&lng=" + city.lng()
+                + "&timezone=" + URLEncoder.encode(city.timezone(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Expected share of requests per city, for the report.
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        for (int rank = 0; rank < Math.min(3, cities.size()); rank++) {
+            description.append(rank == 0 ? "" : ", ")
+                    .append(cities.get(rank).name())
+                    .append(String.format(" %.0f%%", citySampler.probability(rank) * 100));
+        }
+        return description.append(cities.size() > 3 ? ", ..." : "").toString();
+    }
+}
@@ -0,0 +1,304 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.PanchangamService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps computed days across restarts and deploys.
+ *
+ * Every {@code api.cache.snapshot.interval-ms}, and on shutdown, all cached
+ * full days are written to {@code api.cache.snapshot.path} in the
+ * {@link CompactPanchangamStore} slot format (80 bytes a day). The file is
+ * written to a temporary sibling, forced to disk and renamed over the old
+ * one, so a crash never leaves a torn snapshot behind.
+ *
+ * On startup the snapshot is memory-mapped and its days are put back into
+ * the cache. This runs on {@link ApplicationStartedEvent}, before warmup,
+ * precompute and readiness. A snapshot is ignored if its CRC32C does not
+ * match, or if it was written with another format, calculation version
+ * ({@link PanchangamService#CALCULATION_VERSION}) or ayanamsha
+ * ({@link AstronomyService#AYANAMSHA}), so a change in the calculation is
+ * never hidden by old days.
+ *
+ * File layout (big-endian, offsets in bytes):
+ * <pre>
+ *  0 magic        i32  "MZPS"
+ *  4 format       i32
+ *  8 calculation  i32  CALCULATION_VERSION
+ * 12 ayanamsha    i32
+ * 16 slotBytes    i32
+ * 20 days         i32
+ * 24 zones        i32
+ * 28 crc32c       i32  of everything after the header
+ * 32 writtenAt    i64  epoch millis
+ * 40 days * slotBytes, then per zone: u16 length, UTF-8 id
+ * </pre>
+ */
+@Component
+public class CacheSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSnapshot.class);
+
+    static final int MAGIC = 0x4D5A5053; // "MZPS"
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 40;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final PanchangamCache cache;
+    private final boolean enabled;
+    private final Path path;
+    private final int calculationVersion;
+    private final int ayanamsha;
+
+    @Autowired
+    public CacheSnapshot(
+            PanchangamCache cache,
+            @Value("${api.cache.snapshot.enabled:false}") boolean enabled,
+            @Value("${api.cache.snapshot.path:cache/panchangam.snapshot}") String path
+    ) {
+        this(cache, enabled, Path.of(path), PanchangamService.CALCULATION_VERSION, AstronomyService.AYANAMSHA);
+    }
+
+    CacheSnapshot(PanchangamCache cache, boolean enabled, Path path, int calculationVersion, int ayanamsha) {
+        this.cache = cache;
+        this.enabled = enabled;
+        this.path = path;
+        this.calculationVersion = calculationVersion;
+        this.ayanamsha = ayanamsha;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void restoreOnStartup() {
+        if (enabled) {
+            restore();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.cache.snapshot.interval-ms:600000}",
+            initialDelayString = "${api.cache.snapshot.interval-ms:600000}")
+    public void writeScheduled() {
+        if (enabled) {
+            writeQuietly();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (enabled) {
+            writeQuietly();
+        }
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Write every cached full day. An empty cache is not written, so a node
+     * that failed to restore does not wipe a good snapshot on its way down.
+     *
+     * @return number of days written
+     */
+    synchronized int write() throws IOException {
+        if (cache.size() == 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        int days;
+        List<ZoneId> zones;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output output = new Output(channel, HEADER_BYTES);
+            cache.forEachFullSlot(output::day);
+            // After the days, so every zone they refer to is in the table
+            zones = cache.compactStore().zones();
+            for (ZoneId zone : zones) {
+                output.zone(zone);
+            }
+            output.flush();
+            days = output.days;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT)
+                    .putInt(calculationVersion)
+                    .putInt(ayanamsha)
+                    .putInt(CompactPanchangamStore.SLOT_BYTES)
+                    .putInt(days)
+                    .putInt(zones.size())
+                    .putInt((int) output.crc.getValue())
+                    .putLong(System.currentTimeMillis())
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("Wrote {} days to cache snapshot {} in {} ms", days, path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return days;
+    }
+
+    /**
+     * Put the days of a valid snapshot back into the cache. Never fails: a
+     * missing, stale or damaged snapshot just means a cold start.
+     *
+     * @return number of days restored
+     */
+    int restore() {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String problem = validate(snapshot);
+            if (problem != null) {
+                log.info("Ignoring cache snapshot {}: {}", path, problem);
+                return 0;
+            }
+
+            int days = snapshot.getInt(20);
+            int zoneCount = snapshot.getInt(24);
+            int position = HEADER_BYTES + days * CompactPanchangamStore.SLOT_BYTES;
+            List<ZoneId> zones = new ArrayList<>(zoneCount);
+            for (int i = 0; i < zoneCount; i++) {
+                byte[] id = new byte[snapshot.getShort(position) & 0xFFFF];
+                snapshot.get(position + 2, id);
+                zones.add(ZoneId.of(new String(id, StandardCharsets.UTF_8)));
+                position += 2 + id.length;
+            }
+
+            CompactPanchangamStore codec = cache.compactStore();
+            for (int i = 0; i < days; i++) {
+                int base = HEADER_BYTES + i * CompactPanchangamStore.SLOT_BYTES;
+                ZoneId zone = zones.get(CompactPanchangamStore.zoneIndex(snapshot, base));
+                PanchangamResponse day = codec.decode(snapshot, base, zone);
+                cache.put(day.date(), CompactPanchangamStore.location(snapshot, base, zone), PanchangamField.ALL, day);
+                restored++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore cache snapshot {} after {} days: {}", path, restored, e.toString());
+            return restored;
+        }
+        log.info("Restored {} days from cache snapshot {} in {} ms", restored, path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return restored;
+    }
+
+    /**
+     * @return why the snapshot cannot be used, or null if it can
+     */
+    private String validate(ByteBuffer snapshot) {
+        if (snapshot.capacity() < HEADER_BYTES || snapshot.getInt(0) != MAGIC) {
+            return "not a cache snapshot";
+        }
+        if (snapshot.getInt(4) != FORMAT || snapshot.getInt(16) != CompactPanchangamStore.SLOT_BYTES) {
+            return "format " + snapshot.getInt(4) + ", expected " + FORMAT;
+        }
+        if (snapshot.getInt(8) != calculationVersion) {
+            return "calculation version " + snapshot.getInt(8) + ", expected " + calculationVersion;
+        }
+        if (snapshot.getInt(12) != ayanamsha) {
+            return "ayanamsha " + snapshot.getInt(12) + ", expected " + ayanamsha;
+        }
+        long daysEnd = HEADER_BYTES + (long) snapshot.getInt(20) * CompactPanchangamStore.SLOT_BYTES;
+        if (snapshot.getInt(20) < 0 || daysEnd > snapshot.capacity()) {
+            return "truncated";
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(snapshot.slice(HEADER_BYTES, snapshot.capacity() - HEADER_BYTES));
+        if ((int) crc.getValue() != snapshot.getInt(28)) {
+            return "checksum mismatch";
+        }
+        return null;
+    }
+
+    /**
+     * Buffered, checksummed writes to the snapshot body.
+     */
+    private static final class Output {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CRC32C crc = new CRC32C();
+        private int days;
+
+        Output(FileChannel channel, long position) throws IOException {
+            this.channel = channel;
+            channel.position(position);
+        }
+
+        void day(ByteBuffer slot) {
+            ensure(CompactPanchangamStore.SLOT_BYTES);
+            buffer.put(slot);
+            days++;
+        }
+
+        void zone(ZoneId zone) {
+            byte[] id = zone.getId().getBytes(StandardCharsets.UTF_8);
+            ensure(2 + id.length);
+            buffer.putShort((short) id.length).put(id);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
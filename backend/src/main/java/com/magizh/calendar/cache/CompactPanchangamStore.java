@@ -0,0 +1,563 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.Timings;
+import com.magizh.calendar.model.Yogam;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap store of full panchangam days in fixed 80-byte slots, for caches
+ * of years times thousands of locations that would swamp the heap as
+ * {@link PanchangamResponse} object graphs.
+ *
+ * Slot layout (ByteBuffer order, offsets in bytes):
+ * <pre>
+ *  0 state      u8   0 = empty, bit 0 = occupied, bit 1 = referenced (clock)
+ *  1 nakshatram u8   index into NakshatramCalculator.nakshatramNames(); lord follows
+ *  2 thithi     u8   number 1-30; paksha follows
+ *  3 yogam      u8   index into YogamCalculator.yogamNames()
+ *  4 yogamType  u8   YogamType ordinal
+ *  5 karanam    u8   index into KaranamCalculator.karanamNames()
+ *  6 tamilDate  4*u8 month, day, year, weekday (TamilCalendarService tables)
+ * 10 zone       i16  index into the zone table
+ * 12 latE2      i16  key: LocationKey
+ * 14 lngE2      i16
+ * 16 epochDay   i32  key: date
+ * 20 times      7 * (i32 seconds from local midnight, i32 nano-of-second):
+ *                    sunrise, sunset, nakshatram end, thithi end, yogam start, yogam end, karanam end
+ * 76 reserved
+ * </pre>
+ *
+ * Timings are not stored: they follow from sunrise, sunset and the weekday,
+ * and are recomputed by {@link TimingsCalculator} when asked for. Food status
+ * follows from the thithi. A day that does not decode back to an equal
+ * response is refused, and the caller keeps it on the heap instead.
+ *
+ * The table uses open addressing with linear probing over slabs of direct
+ * ByteBuffers, and evicts with the clock algorithm: a hit sets the slot's
+ * referenced bit, and when the table is full the hand clears set bits until
+ * it finds an unreferenced slot to free. Deletion shifts later entries of
+ * the probe run back, so no tombstones build up.
+ *
+ * Reads decode only the requested fields, under a shared lock; writes take
+ * the lock exclusively. Direct memory counts against
+ * {@code -XX:MaxDirectMemorySize}.
+ */
+@Component
+public class CompactPanchangamStore {
+
+    public static final int SLOT_BYTES = 80;
+
+    private static final int STATE = 0;
+    private static final int NAKSHATRAM = 1;
+    private static final int THITHI = 2;
+    private static final int YOGAM = 3;
+    private static final int YOGAM_TYPE = 4;
+    private static final int KARANAM = 5;
+    private static final int TAMIL_DATE = 6;
+    private static final int ZONE = 10;
+    private static final int LAT = 12;
+    private static final int LNG = 14;
+    private static final int EPOCH_DAY = 16;
+    private static final int TIMES = 20;
+
+    private static final int SUNRISE = 0;
+    private static final int SUNSET = 1;
+    private static final int NAKSHATRAM_END = 2;
+    private static final int THITHI_END = 3;
+    private static final int YOGAM_START = 4;
+    private static final int YOGAM_END = 5;
+    private static final int KARANAM_END = 6;
+
+    private static final int OCCUPIED = 1;
+    private static final int REFERENCED = 2;
+
+    private static final int SLAB_SLOTS_LOG2 = 16; // 5 MiB per slab
+    private static final int SLAB_MASK = (1 << SLAB_SLOTS_LOG2) - 1;
+    private static final double MAX_LOAD = 0.75;
+
+    private static final Map<String, Integer> TAMIL_MONTHS = indexOf(TamilCalendarService.tamilMonthNames());
+    private static final Map<String, Integer> TAMIL_WEEKDAYS = indexOf(TamilCalendarService.tamilWeekdayNames());
+    private static final Map<String, Integer> YEAR_NAMES = indexOf(TamilCalendarService.yearNames());
+    private static final Map<String, Integer> NAKSHATRAMS = indexOf(NakshatramCalculator.nakshatramNames());
+    private static final Map<String, Integer> YOGAMS = indexOf(YogamCalculator.yogamNames());
+    private static final Map<String, Integer> KARANAMS = indexOf(KaranamCalculator.karanamNames());
+    private static final Map<String, Integer> THITHIS = indexOf(ThithiCalculator.thithiNames());
+
+    private final TimingsCalculator timingsCalculator;
+    private final int maxEntries;
+    private final int slots;
+    private final ByteBuffer[] slabs;
+
+    private final Map<String, Integer> zoneIndex = new ConcurrentHashMap<>();
+    private final List<ZoneId> zones = new CopyOnWriteArrayList<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile int size;
+    private int hand;
+
+    public CompactPanchangamStore(
+            @Value("${api.cache.offheap.max-entries:0}") int maxEntries,
+            TimingsCalculator timingsCalculator
+    ) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("api.cache.offheap.max-entries must not be negative");
+        }
+        this.timingsCalculator = timingsCalculator;
+        this.maxEntries = maxEntries;
+        if (maxEntries == 0) {
+            this.slots = 0;
+            this.slabs = new ByteBuffer[0];
+            return;
+        }
+        long wanted = (long) Math.ceil(this.maxEntries / MAX_LOAD);
+        if (wanted > 1L << 30) {
+            throw new IllegalArgumentException("api.cache.offheap.max-entries is too large: " + maxEntries);
+        }
+        this.slots = (int) wanted;
+        this.slabs = new ByteBuffer[(slots + SLAB_MASK) >>> SLAB_SLOTS_LOG2];
+        for (int i = 0; i < slabs.length; i++) {
+            int slabSlots = Math.min(slots - (i << SLAB_SLOTS_LOG2), SLAB_MASK + 1);
+            slabs[i] = ByteBuffer.allocateDirect(slabSlots * SLOT_BYTES);
+        }
+    }
+
+    /**
+     * A store that holds nothing, for caches wired by hand.
+     */
+    public static CompactPanchangamStore disabled() {
+        return new CompactPanchangamStore(0, new TimingsCalculator(new GowriCalculator()));
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Decode the requested fields of a stored day and mark it referenced.
+     *
+     * @return the day, or null if it is not stored
+     */
+    public PanchangamResponse get(LocalDate date, LocationKey location, Set<PanchangamField> fields) {
+        if (!isEnabled()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = find(date, location);
+            if (slot < 0) {
+                return null;
+            }
+            ByteBuffer slab = slab(slot);
+            int base = offset(slot);
+            slab.put(base + STATE, (byte) (OCCUPIED | REFERENCED)); // Benign race with other readers
+            return decode(slab, base, date, zones.get(slab.getShort(base + ZONE)), fields);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(LocalDate date, LocationKey location) {
+        if (!isEnabled()) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return find(date, location) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Store a full day, evicting with the clock if the table is full.
+     *
+     * @return false if the day cannot be encoded exactly; it is then not stored
+     */
+    public boolean put(LocalDate date, LocationKey location, PanchangamResponse response) {
+        if (!isEnabled()) {
+            return false;
+        }
+        ByteBuffer encoded = encode(date, location, response);
+        if (encoded == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = find(date, location);
+            if (slot < 0) {
+                if (size >= maxEntries) {
+                    evictOne();
+                }
+                slot = home(date, location);
+                while ((slab(slot).get(offset(slot) + STATE) & OCCUPIED) != 0) {
+                    slot = next(slot);
+                }
+                size++;
+            }
+            slab(slot).put(offset(slot), encoded, 0, SLOT_BYTES);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ---- snapshots ----
+
+    /**
+     * Encode a full day into a standalone slot, with its zone from
+     * {@link #zones()}. Works on a disabled store too.
+     *
+     * @return the slot, or null if the day does not round-trip exactly
+     */
+    ByteBuffer encode(LocalDate date, LocationKey location, PanchangamResponse response) {
+        ByteBuffer encoded = ByteBuffer.allocate(SLOT_BYTES);
+        ZoneId zone = zoneOf(response);
+        if (zone == null || !zone.getId().equals(location.timezone())
+                || !encode(encoded, date, location, zone, response)
+                || !response.equals(decode(encoded, 0, date, zone, PanchangamField.ALL))) {
+            return null;
+        }
+        return encoded;
+    }
+
+    /**
+     * Decode a slot written by {@link #encode(LocalDate, LocationKey, PanchangamResponse)}
+     * or {@link #forEach}, given the zone its zone index stood for.
+     */
+    PanchangamResponse decode(ByteBuffer slot, int base, ZoneId zone) {
+        LocalDate date = LocalDate.ofEpochDay(slot.getInt(base + EPOCH_DAY));
+        return decode(slot, base, date, zone, PanchangamField.ALL);
+    }
+
+    static LocationKey location(ByteBuffer slot, int base, ZoneId zone) {
+        return new LocationKey(slot.getShort(base + LAT), slot.getShort(base + LNG), zone.getId());
+    }
+
+    static int zoneIndex(ByteBuffer slot, int base) {
+        return slot.getShort(base + ZONE);
+    }
+
+    /**
+     * Zones indexed by the zone field of encoded slots.
+     */
+    List<ZoneId> zones() {
+        return List.copyOf(zones);
+    }
+
+    /**
+     * Pass every stored slot, as a read-only view, to {@code action}. Locks
+     * one slab at a time, so writers are held up briefly rather than for
+     * the whole pass; days written meanwhile may or may not be seen.
+     */
+    void forEach(Consumer<ByteBuffer> action) {
+        for (ByteBuffer slab : slabs) {
+            lock.readLock().lock();
+            try {
+                for (int base = 0; base < slab.capacity(); base += SLOT_BYTES) {
+                    if ((slab.get(base + STATE) & OCCUPIED) != 0) {
+                        action.accept(slab.slice(base, SLOT_BYTES).asReadOnlyBuffer());
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Direct memory reserved for the table.
+     */
+    public long memoryBytes() {
+        return isEnabled() ? (long) slots * SLOT_BYTES : 0;
+    }
+
+    // ---- table ----
+
+    private int find(LocalDate date, LocationKey location) {
+        Integer zone = zoneIndex.get(location.timezone());
+        if (zone == null) {
+            return -1;
+        }
+        int epochDay = (int) date.toEpochDay();
+        int slot = home(date, location);
+        while (true) {
+            ByteBuffer slab = slab(slot);
+            int base = offset(slot);
+            if ((slab.get(base + STATE) & OCCUPIED) == 0) {
+                return -1;
+            }
+            if (slab.getInt(base + EPOCH_DAY) == epochDay
+                    && slab.getShort(base + LAT) == location.latE2()
+                    && slab.getShort(base + LNG) == location.lngE2()
+                    && slab.getShort(base + ZONE) == zone) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+    }
+
+    private void evictOne() {
+        while (true) {
+            ByteBuffer slab = slab(hand);
+            int base = offset(hand);
+            int state = slab.get(base + STATE);
+            if ((state & OCCUPIED) != 0) {
+                if ((state & REFERENCED) != 0) {
+                    slab.put(base + STATE, (byte) OCCUPIED);
+                } else {
+                    delete(hand);
+                    return;
+                }
+            }
+            hand = next(hand);
+        }
+    }
+
+    /**
+     * Free a slot, moving later entries of its probe run back so lookups
+     * never stop at the gap too early.
+     */
+    private void delete(int slot) {
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = next(next);
+            ByteBuffer slab = slab(next);
+            int base = offset(next);
+            if ((slab.get(base + STATE) & OCCUPIED) == 0) {
+                break;
+            }
+            int home = home(slab.getInt(base + EPOCH_DAY), slab.getShort(base + LAT),
+                    slab.getShort(base + LNG), zones.get(slab.getShort(base + ZONE)).getId());
+            // Stay if home lies cyclically in (gap, next]
+            boolean stays = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!stays) {
+                slab(gap).put(offset(gap), slab, base, SLOT_BYTES);
+                gap = next;
+            }
+        }
+        slab(gap).put(offset(gap) + STATE, (byte) 0);
+        size--;
+    }
+
+    private int home(LocalDate date, LocationKey location) {
+        return home((int) date.toEpochDay(), location.latE2(), location.lngE2(), location.timezone());
+    }
+
+    private int home(int epochDay, int latE2, int lngE2, String timezone) {
+        int h = epochDay * 0x9E3779B1;
+        h = (h ^ latE2) * 0x85EBCA6B;
+        h = (h ^ lngE2) * 0xC2B2AE35;
+        h ^= timezone.hashCode();
+        h ^= h >>> 16;
+        return (int) (((h & 0xFFFFFFFFL) * slots) >>> 32);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == slots ? 0 : slot + 1;
+    }
+
+    private ByteBuffer slab(int slot) {
+        return slabs[slot >>> SLAB_SLOTS_LOG2];
+    }
+
+    private int offset(int slot) {
+        return (slot & SLAB_MASK) * SLOT_BYTES;
+    }
+
+    private short zone(ZoneId zone) {
+        Integer index = zoneIndex.get(zone.getId());
+        if (index == null) {
+            synchronized (zones) {
+                index = zoneIndex.get(zone.getId());
+                if (index == null) {
+                    if (zones.size() > Short.MAX_VALUE) {
+                        throw new IllegalStateException("Too many timezones");
+                    }
+                    index = zones.size();
+                    zones.add(zone);
+                    zoneIndex.put(zone.getId(), index);
+                }
+            }
+        }
+        return index.shortValue();
+    }
+
+    // ---- encoding ----
+
+    private boolean encode(ByteBuffer slot, LocalDate date, LocationKey location, ZoneId zone,
+                           PanchangamResponse response) {
+        TamilDate tamilDate = response.tamilDate();
+        Nakshatram nakshatram = response.nakshatram();
+        Thithi thithi = response.thithi();
+        Yogam yogam = response.yogam();
+        Karanam karanam = response.karanam();
+        Timings timings = response.timings();
+        if (tamilDate == null || nakshatram == null || thithi == null || yogam == null
+                || karanam == null || timings == null || response.foodStatus() == null
+                || tamilDate.day() < 0 || tamilDate.day() > 255
+                || location.latE2() != (short) location.latE2() || location.lngE2() != (short) location.lngE2()) {
+            return false;
+        }
+        Integer[] indexes = {
+                NAKSHATRAMS.get(nakshatram.name()), THITHIS.get(thithi.name()),
+                YOGAMS.get(yogam.name()), KARANAMS.get(karanam.name()),
+                TAMIL_MONTHS.get(tamilDate.month()), YEAR_NAMES.get(tamilDate.year()),
+                TAMIL_WEEKDAYS.get(tamilDate.weekday())};
+        for (Integer index : indexes) {
+            if (index == null) {
+                return false;
+            }
+        }
+        // Thithi names repeat across the pakshas (except the last of each)
+        int thithiNumber = thithi.paksha() == Thithi.Paksha.SHUKLA
+                ? THITHIS.get(thithi.name()) + 1
+                : THITHIS.get(thithi.name()) % 15 + 16;
+
+        long midnight = date.atStartOfDay(zone).toEpochSecond();
+        slot.put(STATE, (byte) OCCUPIED);
+        slot.put(NAKSHATRAM, (byte) (int) indexes[0]);
+        slot.put(THITHI, (byte) thithiNumber);
+        slot.put(YOGAM, (byte) (int) indexes[2]);
+        slot.put(YOGAM_TYPE, (byte) yogam.type().ordinal());
+        slot.put(KARANAM, (byte) (int) indexes[3]);
+        slot.put(TAMIL_DATE, (byte) (int) indexes[4]);
+        slot.put(TAMIL_DATE + 1, (byte) tamilDate.day());
+        slot.put(TAMIL_DATE + 2, (byte) (int) indexes[5]);
+        slot.put(TAMIL_DATE + 3, (byte) (int) indexes[6]);
+        slot.putShort(ZONE, zone(zone));
+        slot.putShort(LAT, (short) location.latE2());
+        slot.putShort(LNG, (short) location.lngE2());
+        slot.putInt(EPOCH_DAY, (int) date.toEpochDay());
+        return putTime(slot, SUNRISE, timings.sunrise(), midnight)
+                && putTime(slot, SUNSET, timings.sunset(), midnight)
+                && putTime(slot, NAKSHATRAM_END, nakshatram.endTime(), midnight)
+                && putTime(slot, THITHI_END, thithi.endTime(), midnight)
+                && putTime(slot, YOGAM_START, yogam.startTime(), midnight)
+                && putTime(slot, YOGAM_END, yogam.endTime(), midnight)
+                && putTime(slot, KARANAM_END, karanam.endTime(), midnight);
+    }
+
+    private static boolean putTime(ByteBuffer slot, int index, ZonedDateTime time, long midnight) {
+        long seconds = time.toEpochSecond() - midnight;
+        if (seconds != (int) seconds) {
+            return false;
+        }
+        slot.putInt(TIMES + index * 8, (int) seconds);
+        slot.putInt(TIMES + index * 8 + 4, time.getNano());
+        return true;
+    }
+
+    private static ZoneId zoneOf(PanchangamResponse response) {
+        return response.timings() != null ? response.timings().sunrise().getZone() : null;
+    }
+
+    // ---- decoding ----
+
+    private PanchangamResponse decode(ByteBuffer slab, int base, LocalDate date, ZoneId zone,
+                                      Set<PanchangamField> fields) {
+        long midnight = date.atStartOfDay(zone).toEpochSecond();
+
+        TamilDate tamilDate = null;
+        if (fields.contains(PanchangamField.TAMIL_DATE)) {
+            tamilDate = new TamilDate(
+                    TamilCalendarService.tamilMonthNames().get(u8(slab, base + TAMIL_DATE)),
+                    u8(slab, base + TAMIL_DATE + 1),
+                    TamilCalendarService.yearNames().get(u8(slab, base + TAMIL_DATE + 2)),
+                    TamilCalendarService.tamilWeekdayNames().get(u8(slab, base + TAMIL_DATE + 3)));
+        }
+        Nakshatram nakshatram = null;
+        if (fields.contains(PanchangamField.NAKSHATRAM)) {
+            int index = u8(slab, base + NAKSHATRAM);
+            nakshatram = new Nakshatram(NakshatramCalculator.nakshatramNames().get(index),
+                    time(slab, base, NAKSHATRAM_END, midnight, zone), NakshatramCalculator.lords().get(index));
+        }
+        int thithiNumber = u8(slab, base + THITHI);
+        Thithi thithi = null;
+        if (fields.contains(PanchangamField.THITHI)) {
+            thithi = new Thithi(ThithiCalculator.thithiNames().get(thithiNumber - 1),
+                    thithiNumber <= 15 ? Thithi.Paksha.SHUKLA : Thithi.Paksha.KRISHNA,
+                    time(slab, base, THITHI_END, midnight, zone));
+        }
+        Yogam yogam = null;
+        if (fields.contains(PanchangamField.YOGAM)) {
+            yogam = new Yogam(YogamCalculator.yogamNames().get(u8(slab, base + YOGAM)),
+                    Yogam.YogamType.values()[u8(slab, base + YOGAM_TYPE)],
+                    time(slab, base, YOGAM_START, midnight, zone),
+                    time(slab, base, YOGAM_END, midnight, zone));
+        }
+        Karanam karanam = null;
+        if (fields.contains(PanchangamField.KARANAM)) {
+            karanam = new Karanam(KaranamCalculator.karanamNames().get(u8(slab, base + KARANAM)),
+                    time(slab, base, KARANAM_END, midnight, zone));
+        }
+        Timings timings = null;
+        if (fields.contains(PanchangamField.TIMINGS)) {
+            timings = timingsCalculator.calculate(
+                    time(slab, base, SUNRISE, midnight, zone),
+                    time(slab, base, SUNSET, midnight, zone),
+                    date.getDayOfWeek());
+        }
+        FoodStatus foodStatus = null;
+        if (fields.contains(PanchangamField.FOOD_STATUS)) {
+            foodStatus = FoodStatus.forThithi(thithiNumber);
+        }
+        return new PanchangamResponse(date, tamilDate, nakshatram, thithi, yogam, karanam, timings, foodStatus);
+    }
+
+    private static ZonedDateTime time(ByteBuffer slab, int base, int index, long midnight, ZoneId zone) {
+        int offset = base + TIMES + index * 8;
+        return ZonedDateTime.ofInstant(
+                Instant.ofEpochSecond(midnight + slab.getInt(offset), slab.getInt(offset + 4)), zone);
+    }
+
+    private static int u8(ByteBuffer slab, int offset) {
+        return slab.get(offset) & 0xFF;
+    }
+
+    private static Map<String, Integer> indexOf(List<String> names) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.putIfAbsent(names.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+}
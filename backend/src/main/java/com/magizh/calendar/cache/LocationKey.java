@@ -0,0 +1,36 @@
+package com.magizh.calendar.cache;
+
+/**
+ * Canonical location used for cache keys.
+ *
+ * Coordinates are snapped to a 0.01° grid (about 1 km), so requests from
+ * nearby points share cache entries. Over that distance sunrise moves by a
+ * few seconds, well below the one-minute precision of the angam end times.
+ *
+ * @param latE2 Latitude in hundredths of a degree
+ * @param lngE2 Longitude in hundredths of a degree
+ * @param timezone Timezone identifier (e.g., "Asia/Kolkata")
+ */
+public record LocationKey(
+    int latE2,
+    int lngE2,
+    String timezone
+) {
+    private static final double SCALE = 100.0;
+
+    public static LocationKey of(double lat, double lng, String timezone) {
+        return new LocationKey(
+            (int) Math.round(lat * SCALE),
+            (int) Math.round(lng * SCALE),
+            timezone
+        );
+    }
+
+    public double latitude() {
+        return latE2 / SCALE;
+    }
+
+    public double longitude() {
+        return lngE2 / SCALE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.observability.CacheLookupEvent;
+import com.magizh.calendar.observability.RequestStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * In-memory cache of computed panchangam days.
+ *
+ * Entries are keyed by date, canonical location and field selection. A
+ * request for a subset of fields is served from the full entry when one is
+ * cached; a partial entry is only ever returned for the exact same selection,
+ * so a sparse computation can never leak into a fuller response.
+ *
+ * Bounded by {@code api.cache.max-entries}; the oldest insertions are evicted first.
+ * When {@code api.cache.offheap.max-entries} is set, full days go to the
+ * {@link CompactPanchangamStore} instead, and only partial selections (and
+ * the rare day the store cannot encode exactly) stay on the heap.
+ */
+@Component
+public class PanchangamCache {
+
+    private static final int FULL_MASK = PanchangamField.mask(PanchangamField.ALL);
+
+    private final int maxEntries;
+    private final CompactPanchangamStore compactStore;
+    private final Map<PanchangamKey, PanchangamResponse> entries = new ConcurrentHashMap<>();
+    private final Queue<PanchangamKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PanchangamCache(int maxEntries) {
+        this(maxEntries, CompactPanchangamStore.disabled());
+    }
+
+    @Autowired
+    public PanchangamCache(
+            @Value("${api.cache.max-entries:50000}") int maxEntries,
+            CompactPanchangamStore compactStore
+    ) {
+        this.maxEntries = maxEntries;
+        this.compactStore = compactStore;
+    }
+
+    /**
+     * Look up a day, projecting a cached full entry down to the requested fields.
+     *
+     * @return the cached response, or null on a miss
+     */
+    public PanchangamResponse get(LocalDate date, LocationKey location, Set<PanchangamField> fields) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        int mask = PanchangamField.mask(fields);
+
+        PanchangamResponse response = entries.get(new PanchangamKey(date, location, mask));
+        if (response == null && compactStore.isEnabled()) {
+            response = compactStore.get(date, location, fields);
+        }
+        if (response == null && mask != FULL_MASK) {
+            PanchangamResponse full = entries.get(new PanchangamKey(date, location, FULL_MASK));
+            if (full != null) {
+                response = full.select(fields);
+            }
+        }
+
+        if (response != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        RequestStats.recordCacheLookup(response != null);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = "panchangam";
+            event.key = date + "@" + location + "/" + Integer.toHexString(mask);
+            event.hit = response != null;
+            event.commit();
+        }
+        return response;
+    }
+
+    /**
+     * Store a computed day under its field selection.
+     */
+    public void put(LocalDate date, LocationKey location, Set<PanchangamField> fields, PanchangamResponse response) {
+        PanchangamKey key = new PanchangamKey(date, location, PanchangamField.mask(fields));
+        if (key.fields() == FULL_MASK && compactStore.put(date, location, response)) {
+            return;
+        }
+        if (entries.put(key, response) == null) {
+            insertionOrder.add(key);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Whether the full day is cached. Not counted as a lookup; for batch jobs
+     * that only fill what is missing.
+     */
+    public boolean containsFull(LocalDate date, LocationKey location) {
+        return entries.containsKey(new PanchangamKey(date, location, FULL_MASK))
+                || compactStore.contains(date, location);
+    }
+
+    /**
+     * Pass every cached full day to {@code action}, encoded as a compact
+     * store slot. Days that do not encode exactly are skipped.
+     */
+    void forEachFullSlot(Consumer<ByteBuffer> action) {
+        for (Map.Entry<PanchangamKey, PanchangamResponse> entry : entries.entrySet()) {
+            PanchangamKey key = entry.getKey();
+            if (key.fields() == FULL_MASK) {
+                ByteBuffer slot = compactStore.encode(key.date(), key.location(), entry.getValue());
+                if (slot != null) {
+                    action.accept(slot);
+                }
+            }
+        }
+        compactStore.forEach(action);
+    }
+
+    CompactPanchangamStore compactStore() {
+        return compactStore;
+    }
+
+    /**
+     * Entries held, on and off the heap.
+     */
+    public int size() {
+        return entries.size() + compactStore.size();
+    }
+
+    public int maxEntries() {
+        return maxEntries + compactStore.maxEntries();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void evictIfNeeded() {
+        while (entries.size() > maxEntries) {
+            PanchangamKey oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest);
+        }
+    }
+}
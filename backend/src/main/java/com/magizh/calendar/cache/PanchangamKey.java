@@ -0,0 +1,16 @@
+package com.magizh.calendar.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Cache key for one day's panchangam at one location.
+ *
+ * @param date Gregorian date
+ * @param location Canonical location
+ * @param fields Bit mask of the selected fields (see PanchangamField.mask)
+ */
+public record PanchangamKey(
+    LocalDate date,
+    LocationKey location,
+    int fields
+) {}
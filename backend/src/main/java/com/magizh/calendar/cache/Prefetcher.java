@@ -0,0 +1,177 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.PanchangamField;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Background computation of days a user is likely to ask for next.
+ *
+ * Tasks run on a few low-priority daemon threads fed by a bounded queue.
+ * When the queue is full a new task is dropped rather than waited for, so
+ * prefetching never holds up the request that triggered it. A day already
+ * queued is not queued again.
+ *
+ * Days a prefetch actually computed are remembered (a bounded number, oldest
+ * forgotten first) so the first cache hit on one counts as a prefetch hit.
+ * Outcomes are counted in {@code panchangam.prefetch}: queued, dropped,
+ * computed (was missing), skipped (cached meanwhile) and hit. hit / computed
+ * is the share of prefetched days that were used.
+ */
+@Component
+public class Prefetcher {
+
+    private static final int FULL_MASK = PanchangamField.mask(PanchangamField.ALL);
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+    private final int maxTracked;
+
+    private final Set<PanchangamKey> pending = ConcurrentHashMap.newKeySet();
+    private final Map<PanchangamKey, Boolean> prefetched = new ConcurrentHashMap<>();
+    private final Queue<PanchangamKey> prefetchedOrder = new ConcurrentLinkedQueue<>();
+
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter computed;
+    private final Counter skipped;
+    private final Counter hits;
+
+    @Autowired
+    public Prefetcher(
+            @Value("${api.prefetch.enabled:false}") boolean enabled,
+            @Value("${api.prefetch.threads:1}") int threads,
+            @Value("${api.prefetch.queue-capacity:256}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxTracked = queueCapacity * 16;
+        if (enabled) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "prefetch-" + threadCount.incrementAndGet());
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        } else {
+            this.executor = null;
+        }
+        this.queued = outcome(meterRegistry, "queued");
+        this.dropped = outcome(meterRegistry, "dropped");
+        this.computed = outcome(meterRegistry, "computed");
+        this.skipped = outcome(meterRegistry, "skipped");
+        this.hits = outcome(meterRegistry, "hit");
+    }
+
+    /**
+     * A prefetcher that never runs anything, for services wired by hand.
+     */
+    public static Prefetcher disabled() {
+        return new Prefetcher(false, 1, 1, new SimpleMeterRegistry());
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("panchangam.prefetch")
+                .tag("outcome", outcome)
+                .description("Adjacent-day prefetches by outcome")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue the computation of a full day unless it is already queued.
+     * Never blocks; drops the task if the queue is full.
+     *
+     * @param computation Computes the day into the cache; returns false if it was already cached
+     * @return true if the task was queued
+     */
+    public boolean submit(LocalDate date, LocationKey location, BooleanSupplier computation) {
+        if (!enabled) {
+            return false;
+        }
+        PanchangamKey key = new PanchangamKey(date, location, FULL_MASK);
+        if (!pending.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(key, computation));
+            queued.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            dropped.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Note a cache hit on a day; the first hit on a prefetched day counts as a prefetch hit.
+     */
+    public void recordHit(LocalDate date, LocationKey location) {
+        if (enabled && prefetched.remove(new PanchangamKey(date, location, FULL_MASK)) != null) {
+            hits.increment();
+        }
+    }
+
+    public int queueSize() {
+        return enabled ? executor.getQueue().size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(PanchangamKey key, BooleanSupplier computation) {
+        try {
+            if (computation.getAsBoolean()) {
+                computed.increment();
+                track(key);
+            } else {
+                skipped.increment();
+            }
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    private void track(PanchangamKey key) {
+        if (prefetched.put(key, Boolean.TRUE) == null) {
+            prefetchedOrder.add(key);
+            while (prefetched.size() > maxTracked) {
+                PanchangamKey oldest = prefetchedOrder.poll();
+                if (oldest == null) {
+                    return;
+                }
+                prefetched.remove(oldest);
+            }
+        }
+    }
+}
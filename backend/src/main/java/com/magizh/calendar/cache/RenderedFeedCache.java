@@ -0,0 +1,72 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.observability.CacheLookupEvent;
+import com.magizh.calendar.observability.RequestStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cache of fully rendered calendar feeds, keyed by feed identity (location,
+ * range and calculation version). Subscribed calendars poll the same few
+ * feeds over and over, so serving stored bytes avoids recomputing a year.
+ *
+ * Bounded by {@code api.ics.cache.max-entries}; the oldest insertions are evicted first.
+ * Feeds larger than {@code api.ics.cache.max-feed-bytes} are never stored.
+ */
+@Component
+public class RenderedFeedCache {
+
+    private final int maxEntries;
+    private final int maxFeedBytes;
+    private final Map<String, byte[]> feeds = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public RenderedFeedCache(
+            @Value("${api.ics.cache.max-entries:200}") int maxEntries,
+            @Value("${api.ics.cache.max-feed-bytes:1048576}") int maxFeedBytes
+    ) {
+        this.maxEntries = maxEntries;
+        this.maxFeedBytes = maxFeedBytes;
+    }
+
+    public byte[] get(String key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        byte[] feed = feeds.get(key);
+        RequestStats.recordCacheLookup(feed != null);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = "feed";
+            event.key = key;
+            event.hit = feed != null;
+            event.commit();
+        }
+        return feed;
+    }
+
+    public int maxFeedBytes() {
+        return maxFeedBytes;
+    }
+
+    public void put(String key, byte[] feed) {
+        if (feed.length > maxFeedBytes) {
+            return;
+        }
+        if (feeds.put(key, feed) == null) {
+            insertionOrder.add(key);
+            while (feeds.size() > maxEntries) {
+                String oldest = insertionOrder.poll();
+                if (oldest == null) {
+                    return;
+                }
+                feeds.remove(oldest);
+            }
+        }
+    }
+}
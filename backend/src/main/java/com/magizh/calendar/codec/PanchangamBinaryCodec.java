@@ -0,0 +1,367 @@
+package com.magizh.calendar.codec;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.TimeRange;
+import com.magizh.calendar.model.Timings;
+import com.magizh.calendar.model.Yogam;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of panchangam days for the iOS client.
+ *
+ * Layout (integers are unsigned LEB128 varints unless noted, "zvarint" is zigzag-encoded):
+ * <pre>
+ * header   : 'M' 'P' version(u8) zone(UTF) count
+ * day      : epochDay(zvarint) presence(u8, bit = PanchangamField ordinal) midnight(zvarint epoch seconds)
+ *            [tamilDate] [nakshatram] [thithi] [yogam] [karanam] [timings] [foodStatus]
+ * time     : seconds since local midnight(zvarint) offset(zvarint minutes)
+ * range    : type(u8 TimingType ordinal, 0xFF = absent) [start end]
+ * tamilDate: month(u8) day(u8) year(u8) weekday(u8)        indices into TamilCalendarService tables
+ * nakshatram: index(u8) end                                lord follows from the index
+ * thithi   : number(u8, 1-30) end                          paksha follows from the number
+ * yogam    : index(u8) type(u8 ordinal) start end
+ * karanam  : index(u8) end                                 index into KaranamCalculator.karanamNames()
+ * timings  : sunrise sunset count range* rahukaalam yamagandam kuligai count range*
+ * foodStatus: type(u8 ordinal) message(UTF) hasNext(u8) [name(UTF) date(UTF) daysAway]
+ * </pre>
+ *
+ * The zone is written once; every instant is recoverable from the day's
+ * midnight plus the per-time seconds, with the UTC offset alongside for
+ * clients that only display wall-clock times. Sub-second precision is dropped.
+ */
+public final class PanchangamBinaryCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC_0 = 'M';
+    private static final int MAGIC_1 = 'P';
+    private static final int ABSENT = 0xFF;
+
+    private static final Map<String, Integer> TAMIL_MONTHS = indexOf(TamilCalendarService.tamilMonthNames());
+    private static final Map<String, Integer> TAMIL_WEEKDAYS = indexOf(TamilCalendarService.tamilWeekdayNames());
+    private static final Map<String, Integer> YEAR_NAMES = indexOf(TamilCalendarService.yearNames());
+    private static final Map<String, Integer> NAKSHATRAMS = indexOf(NakshatramCalculator.nakshatramNames());
+    private static final Map<String, Integer> SHUKLA_THITHIS = indexOf(ThithiCalculator.thithiNames().subList(0, 15));
+    private static final Map<String, Integer> KRISHNA_THITHIS = indexOf(ThithiCalculator.thithiNames().subList(15, 30));
+    private static final Map<String, Integer> YOGAMS = indexOf(YogamCalculator.yogamNames());
+    private static final Map<String, Integer> KARANAMS = indexOf(KaranamCalculator.karanamNames());
+
+    private PanchangamBinaryCodec() {
+    }
+
+    /**
+     * Encode days straight to the stream. All days are expected to share one timezone.
+     */
+    public static void write(List<PanchangamResponse> days, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        ZoneId zone = days.stream().map(PanchangamBinaryCodec::zoneOf)
+                .filter(z -> z != null).findFirst().orElse(ZoneOffset.UTC);
+
+        data.writeByte(MAGIC_0);
+        data.writeByte(MAGIC_1);
+        data.writeByte(VERSION);
+        data.writeUTF(zone.getId());
+        writeVarint(data, days.size());
+
+        for (PanchangamResponse day : days) {
+            writeDay(data, day, zone);
+        }
+        data.flush();
+    }
+
+    /**
+     * Decode a payload produced by {@link #write}. Used by tests and as the reference for clients.
+     */
+    public static List<PanchangamResponse> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readUnsignedByte() != MAGIC_0 || data.readUnsignedByte() != MAGIC_1) {
+            throw new IOException("Not a panchangam payload");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported payload version " + version);
+        }
+        ZoneId zone = ZoneId.of(data.readUTF());
+        int count = (int) readVarint(data);
+
+        List<PanchangamResponse> days = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            days.add(readDay(data, zone));
+        }
+        return days;
+    }
+
+    // ---- encoding ----
+
+    private static void writeDay(DataOutputStream data, PanchangamResponse day, ZoneId zone) throws IOException {
+        long midnight = day.date().atStartOfDay(zone).toEpochSecond();
+
+        writeZigzag(data, day.date().toEpochDay());
+        data.writeByte(presence(day));
+        writeZigzag(data, midnight);
+
+        if (day.tamilDate() != null) {
+            TamilDate tamilDate = day.tamilDate();
+            data.writeByte(lookup(TAMIL_MONTHS, tamilDate.month()));
+            data.writeByte(tamilDate.day());
+            data.writeByte(lookup(YEAR_NAMES, tamilDate.year()));
+            data.writeByte(lookup(TAMIL_WEEKDAYS, tamilDate.weekday()));
+        }
+        if (day.nakshatram() != null) {
+            data.writeByte(lookup(NAKSHATRAMS, day.nakshatram().name()));
+            writeTime(data, day.nakshatram().endTime(), midnight);
+        }
+        if (day.thithi() != null) {
+            Thithi thithi = day.thithi();
+            data.writeByte(thithi.paksha() == Thithi.Paksha.SHUKLA
+                    ? lookup(SHUKLA_THITHIS, thithi.name()) + 1
+                    : lookup(KRISHNA_THITHIS, thithi.name()) + 16);
+            writeTime(data, thithi.endTime(), midnight);
+        }
+        if (day.yogam() != null) {
+            Yogam yogam = day.yogam();
+            data.writeByte(lookup(YOGAMS, yogam.name()));
+            data.writeByte(yogam.type().ordinal());
+            writeTime(data, yogam.startTime(), midnight);
+            writeTime(data, yogam.endTime(), midnight);
+        }
+        if (day.karanam() != null) {
+            data.writeByte(lookup(KARANAMS, day.karanam().name()));
+            writeTime(data, day.karanam().endTime(), midnight);
+        }
+        if (day.timings() != null) {
+            Timings timings = day.timings();
+            writeTime(data, timings.sunrise(), midnight);
+            writeTime(data, timings.sunset(), midnight);
+            writeRanges(data, timings.nallaNeram(), midnight);
+            writeRange(data, timings.rahukaalam(), midnight);
+            writeRange(data, timings.yamagandam(), midnight);
+            writeRange(data, timings.kuligai(), midnight);
+            writeRanges(data, timings.gowriNallaNeram(), midnight);
+        }
+        if (day.foodStatus() != null) {
+            FoodStatus foodStatus = day.foodStatus();
+            data.writeByte(foodStatus.type().ordinal());
+            data.writeUTF(foodStatus.message());
+            FoodStatus.NextAuspiciousDay next = foodStatus.nextAuspicious();
+            data.writeByte(next != null ? 1 : 0);
+            if (next != null) {
+                data.writeUTF(next.name());
+                data.writeUTF(next.date());
+                writeVarint(data, next.daysAway());
+            }
+        }
+    }
+
+    private static int presence(PanchangamResponse day) {
+        int bits = 0;
+        if (day.tamilDate() != null) bits |= 1 << PanchangamField.TAMIL_DATE.ordinal();
+        if (day.nakshatram() != null) bits |= 1 << PanchangamField.NAKSHATRAM.ordinal();
+        if (day.thithi() != null) bits |= 1 << PanchangamField.THITHI.ordinal();
+        if (day.yogam() != null) bits |= 1 << PanchangamField.YOGAM.ordinal();
+        if (day.karanam() != null) bits |= 1 << PanchangamField.KARANAM.ordinal();
+        if (day.timings() != null) bits |= 1 << PanchangamField.TIMINGS.ordinal();
+        if (day.foodStatus() != null) bits |= 1 << PanchangamField.FOOD_STATUS.ordinal();
+        return bits;
+    }
+
+    private static void writeRanges(DataOutputStream data, List<TimeRange> ranges, long midnight) throws IOException {
+        writeVarint(data, ranges.size());
+        for (TimeRange range : ranges) {
+            writeRange(data, range, midnight);
+        }
+    }
+
+    private static void writeRange(DataOutputStream data, TimeRange range, long midnight) throws IOException {
+        if (range == null) {
+            data.writeByte(ABSENT);
+            return;
+        }
+        data.writeByte(range.type().ordinal());
+        writeTime(data, range.startTime(), midnight);
+        writeTime(data, range.endTime(), midnight);
+    }
+
+    private static void writeTime(DataOutputStream data, ZonedDateTime time, long midnight) throws IOException {
+        writeZigzag(data, time.toEpochSecond() - midnight);
+        writeZigzag(data, time.getOffset().getTotalSeconds() / 60);
+    }
+
+    private static ZoneId zoneOf(PanchangamResponse day) {
+        if (day.timings() != null) return day.timings().sunrise().getZone();
+        if (day.nakshatram() != null) return day.nakshatram().endTime().getZone();
+        if (day.thithi() != null) return day.thithi().endTime().getZone();
+        if (day.yogam() != null) return day.yogam().startTime().getZone();
+        if (day.karanam() != null) return day.karanam().endTime().getZone();
+        return null;
+    }
+
+    // ---- decoding ----
+
+    private static PanchangamResponse readDay(DataInputStream data, ZoneId zone) throws IOException {
+        LocalDate date = LocalDate.ofEpochDay(readZigzag(data));
+        int presence = data.readUnsignedByte();
+        long midnight = readZigzag(data);
+
+        TamilDate tamilDate = null;
+        Nakshatram nakshatram = null;
+        Thithi thithi = null;
+        Yogam yogam = null;
+        Karanam karanam = null;
+        Timings timings = null;
+        FoodStatus foodStatus = null;
+
+        if (has(presence, PanchangamField.TAMIL_DATE)) {
+            tamilDate = new TamilDate(
+                    TamilCalendarService.tamilMonthNames().get(data.readUnsignedByte()),
+                    data.readUnsignedByte(),
+                    TamilCalendarService.yearNames().get(data.readUnsignedByte()),
+                    TamilCalendarService.tamilWeekdayNames().get(data.readUnsignedByte()));
+        }
+        if (has(presence, PanchangamField.NAKSHATRAM)) {
+            int index = data.readUnsignedByte();
+            nakshatram = new Nakshatram(
+                    NakshatramCalculator.nakshatramNames().get(index),
+                    readTime(data, midnight, zone),
+                    NakshatramCalculator.lords().get(index));
+        }
+        if (has(presence, PanchangamField.THITHI)) {
+            int number = data.readUnsignedByte();
+            thithi = new Thithi(
+                    ThithiCalculator.thithiNames().get(number - 1),
+                    number <= 15 ? Thithi.Paksha.SHUKLA : Thithi.Paksha.KRISHNA,
+                    readTime(data, midnight, zone));
+        }
+        if (has(presence, PanchangamField.YOGAM)) {
+            String name = YogamCalculator.yogamNames().get(data.readUnsignedByte());
+            Yogam.YogamType type = Yogam.YogamType.values()[data.readUnsignedByte()];
+            yogam = new Yogam(name, type, readTime(data, midnight, zone), readTime(data, midnight, zone));
+        }
+        if (has(presence, PanchangamField.KARANAM)) {
+            karanam = new Karanam(
+                    KaranamCalculator.karanamNames().get(data.readUnsignedByte()),
+                    readTime(data, midnight, zone));
+        }
+        if (has(presence, PanchangamField.TIMINGS)) {
+            timings = new Timings(
+                    readTime(data, midnight, zone),
+                    readTime(data, midnight, zone),
+                    readRanges(data, midnight, zone),
+                    readRange(data, midnight, zone),
+                    readRange(data, midnight, zone),
+                    readRange(data, midnight, zone),
+                    readRanges(data, midnight, zone));
+        }
+        if (has(presence, PanchangamField.FOOD_STATUS)) {
+            FoodStatus.FoodType type = FoodStatus.FoodType.values()[data.readUnsignedByte()];
+            String message = data.readUTF();
+            FoodStatus.NextAuspiciousDay next = null;
+            if (data.readUnsignedByte() != 0) {
+                next = new FoodStatus.NextAuspiciousDay(data.readUTF(), data.readUTF(), (int) readVarint(data));
+            }
+            foodStatus = new FoodStatus(type, message, next);
+        }
+
+        return new PanchangamResponse(date, tamilDate, nakshatram, thithi, yogam, karanam, timings, foodStatus);
+    }
+
+    private static boolean has(int presence, PanchangamField field) {
+        return (presence & (1 << field.ordinal())) != 0;
+    }
+
+    private static List<TimeRange> readRanges(DataInputStream data, long midnight, ZoneId zone) throws IOException {
+        int count = (int) readVarint(data);
+        List<TimeRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ranges.add(readRange(data, midnight, zone));
+        }
+        return ranges;
+    }
+
+    private static TimeRange readRange(DataInputStream data, long midnight, ZoneId zone) throws IOException {
+        int type = data.readUnsignedByte();
+        if (type == ABSENT) {
+            return null;
+        }
+        return new TimeRange(readTime(data, midnight, zone), readTime(data, midnight, zone),
+                TimeRange.TimingType.values()[type]);
+    }
+
+    private static ZonedDateTime readTime(DataInputStream data, long midnight, ZoneId zone) throws IOException {
+        long seconds = midnight + readZigzag(data);
+        readZigzag(data); // offset minutes, implied by the zone
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(seconds), zone);
+    }
+
+    // ---- primitives ----
+
+    private static void writeVarint(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+
+    private static void writeZigzag(DataOutputStream data, long value) throws IOException {
+        writeVarint(data, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readVarint(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long readZigzag(DataInputStream data) throws IOException {
+        long value = readVarint(data);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int lookup(Map<String, Integer> table, String name) {
+        Integer index = table.get(name);
+        if (index == null) {
+            throw new IllegalStateException("No table index for name: " + name);
+        }
+        return index;
+    }
+
+    private static Map<String, Integer> indexOf(List<String> names) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.putIfAbsent(names.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+}
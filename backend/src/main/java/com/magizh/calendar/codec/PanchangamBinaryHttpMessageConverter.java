@@ -0,0 +1,90 @@
+package com.magizh.calendar.codec;
+
+import com.magizh.calendar.model.PanchangamResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Converts {@link PanchangamResponse} and lists of them with {@link PanchangamBinaryCodec}
+ * when the client sends {@code Accept: application/vnd.magizh.panchangam}.
+ *
+ * A single day is written as a payload with one entry. Registered after the
+ * JSON converter so JSON stays the default for {@code Accept: *}{@code /*}.
+ * Reading decodes the same payloads, for clients and tests built on Spring.
+ */
+public class PanchangamBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.magizh.panchangam";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public PanchangamBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    /**
+     * Whether a declared body type is one this converter handles:
+     * {@code PanchangamResponse} or {@code List<PanchangamResponse>}.
+     */
+    public static boolean isPanchangamType(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)) {
+            return parameterized.getActualTypeArguments()[0] == PanchangamResponse.class;
+        }
+        return type instanceof Class<?> clazz && PanchangamResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PanchangamResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPanchangamType(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isPanchangamType(type) && canRead(mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        List<PanchangamResponse> days = body instanceof PanchangamResponse day
+                ? List.of(day)
+                : (List<PanchangamResponse>) body;
+
+        OutputStream out = new BufferedOutputStream(outputMessage.getBody(), 8192);
+        PanchangamBinaryCodec.write(days, out);
+        out.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        List<PanchangamResponse> days = PanchangamBinaryCodec.read(inputMessage.getBody());
+        if (type instanceof Class<?>) {
+            if (days.size() != 1) {
+                throw new HttpMessageNotReadableException(
+                        "Expected one day, got " + days.size(), inputMessage);
+            }
+            return days.get(0);
+        }
+        return days;
+    }
+}
@@ -1,5 +1,8 @@
 package com.magizh.calendar.config;
 
+import com.magizh.calendar.security.ApiClient;
+import com.magizh.calendar.security.ApiKeyRegistry;
+import com.magizh.calendar.security.PathPrefixTrie;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,8 +22,8 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * Filter that validates API keys in the X-API-Key header.
- * Supports multiple keys for different clients (iOS, Web, Dev).
+ * Filter that validates API keys in the X-API-Key header against the ApiKeyRegistry.
+ * The resolved ApiClient is stored as a request attribute for later filters.
  */
 @Component
 public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
@@ -29,28 +32,26 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String API_KEY_HEADER = "X-API-Key";
     private static final String CLIENT_TYPE_HEADER = "X-Client-Type";
-
-    @Value("${api.security.keys.ios:}")
-    private String iosApiKey;
-
-    @Value("${api.security.keys.web:}")
-    private String webApiKey;
-
-    @Value("${api.security.keys.dev:}")
-    private String devApiKey;
+    private static final String API_KEY_PARAM = "key";
 
     @Value("${api.security.enabled:true}")
     private boolean securityEnabled;
 
     // Endpoints that don't require authentication
-    private static final Set<String> PUBLIC_PATHS = Set.of(
+    private static final PathPrefixTrie PUBLIC_PATHS = new PathPrefixTrie(Set.of(
         "/api/panchangam/health",
         "/actuator/health",
         "/actuator/info",
         "/swagger-ui",
         "/v3/api-docs",
         "/error"
-    );
+    ));
+
+    private final ApiKeyRegistry keyRegistry;
+
+    public ApiKeyAuthenticationFilter(ApiKeyRegistry keyRegistry) {
+        this.keyRegistry = keyRegistry;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -75,6 +76,10 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String apiKey = request.getHeader(API_KEY_HEADER);
+        if ((apiKey == null || apiKey.isBlank()) && path.endsWith(".ics")) {
+            // Calendar apps subscribe by URL and cannot send headers
+            apiKey = request.getParameter(API_KEY_PARAM);
+        }
         String clientType = request.getHeader(CLIENT_TYPE_HEADER);
 
         if (apiKey == null || apiKey.isBlank()) {
@@ -83,39 +88,23 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Validate API key and determine client type
-        String role = validateApiKey(apiKey, clientType);
-        if (role == null) {
+        ApiClient client = keyRegistry.lookup(apiKey);
+        if (client == null) {
             log.warn("Invalid API key for request: {} {}", request.getMethod(), path);
             sendError(response, HttpStatus.UNAUTHORIZED, "Invalid API key");
             return;
         }
 
-        log.debug("Authenticated request from {} client: {} {}",
-            clientType != null ? clientType : "unknown", request.getMethod(), path);
+        log.debug("Authenticated request from {} ({} client): {} {}",
+            client.id(), clientType != null ? clientType : "unknown", request.getMethod(), path);
 
-        setAuthentication(clientType != null ? clientType : "unknown", role);
+        request.setAttribute(ApiClient.REQUEST_ATTRIBUTE, client);
+        setAuthentication(client.id(), client.role());
         filterChain.doFilter(request, response);
     }
 
     private boolean isPublicPath(String path) {
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
-    }
-
-    private String validateApiKey(String apiKey, String clientType) {
-        // Check iOS key
-        if (iosApiKey != null && !iosApiKey.isBlank() && apiKey.equals(iosApiKey)) {
-            return "ROLE_IOS_CLIENT";
-        }
-        // Check web key
-        if (webApiKey != null && !webApiKey.isBlank() && apiKey.equals(webApiKey)) {
-            return "ROLE_WEB_CLIENT";
-        }
-        // Check dev key (for development/testing)
-        if (devApiKey != null && !devApiKey.isBlank() && apiKey.equals(devApiKey)) {
-            return "ROLE_DEV";
-        }
-        return null;
+        return PUBLIC_PATHS.matches(path);
     }
 
     private void setAuthentication(String principal, String role) {
@@ -0,0 +1,43 @@
+package com.magizh.calendar.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cities known to the backend ({@code api.cities}), matching the preset
+ * locations of the iOS app. Batch jobs such as the year bundles work over this list.
+ *
+ * @param cities Configured cities
+ */
+@ConfigurationProperties(prefix = "api")
+public record CityProperties(List<City> cities) {
+
+    public CityProperties {
+        cities = cities == null ? List.of() : List.copyOf(cities);
+    }
+
+    /**
+     * @param name     Display name (e.g., "Chennai")
+     * @param lat      Latitude
+     * @param lng      Longitude
+     * @param timezone Timezone identifier
+     */
+    public record City(String name, double lat, double lng, String timezone) {
+
+        /**
+         * URL-safe identifier, e.g. "new-delhi".
+         */
+        public String slug() {
+            return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        }
+    }
+
+    public City findBySlug(String slug) {
+        return cities.stream()
+                .filter(city -> city.slug().equals(slug))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -48,7 +48,9 @@ public class CorsConfig {
         // Exposed headers (client can read these)
         configuration.setExposedHeaders(List.of(
             "X-Rate-Limit-Remaining",
-            "Retry-After"
+            "X-Rate-Limit-Cost",
+            "Retry-After",
+            "Server-Timing"
         ));
 
         // Don't allow credentials (we use API key, not cookies)
@@ -0,0 +1,55 @@
+package com.magizh.calendar.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers the springdoc beans and our OpenAPI definition until the first
+ * request to Swagger UI or {@code /v3/api-docs}, taking them off the startup
+ * path ({@code api.startup.lazy-openapi}).
+ *
+ * Their controllers stay mapped: request mappings are detected from bean
+ * types, and the beans are created when first called.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.startup.lazy-openapi", havingValue = "true")
+public class LazyOpenApiConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isOpenApiBean(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Beans of an OpenAPI class, or made by a @Bean method of one.
+     */
+    private static boolean isOpenApiBean(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (isOpenApiClass(definition.getBeanClassName())) {
+            return true;
+        }
+        String factoryBean = definition.getFactoryBeanName();
+        return factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)
+                && isOpenApiClass(beanFactory.getBeanDefinition(factoryBean).getBeanClassName());
+    }
+
+    /**
+     * Springdoc's own classes and configurations, and our OpenApiConfig.
+     */
+    private static boolean isOpenApiClass(String className) {
+        return className != null
+                && (className.startsWith(SPRINGDOC_PACKAGE) || className.equals(OpenApiConfig.class.getName()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.magizh.calendar.config;
+
+import com.magizh.calendar.codec.PanchangamBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the binary panchangam format alongside JSON.
+ * Appended after the default converters so that JSON remains the default
+ * and the binary format is only used when explicitly accepted.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PanchangamBinaryHttpMessageConverter());
+    }
+}
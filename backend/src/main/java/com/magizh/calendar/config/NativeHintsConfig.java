@@ -0,0 +1,61 @@
+package com.magizh.calendar.config;
+
+import com.magizh.calendar.controller.BundleController;
+import com.magizh.calendar.model.MonthGridResponse;
+import com.magizh.calendar.model.PanchangamResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * GraalVM native image hints for what Spring AOT cannot infer on its own.
+ *
+ * - Jackson serializes the response records (and the records and enums they
+ *   contain) reflectively; controller return types wrapped in ResponseEntity
+ *   and lists are not always followed, so they are registered explicitly.
+ * - Swiss Ephemeris may look up ephemeris data files as resources, and its
+ *   entry types are kept whole for reflection.
+ *
+ * The security filter chain and our filters are plain beans and need nothing
+ * beyond what Spring Security's own AOT support registers. Ignored on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.SwissEphHints.class)
+@RegisterReflectionForBinding({
+        PanchangamResponse.class,
+        MonthGridResponse.class,
+        BundleController.BundleIndexEntry.class
+})
+public class NativeHintsConfig {
+
+    static class SwissEphHints implements RuntimeHintsRegistrar {
+
+        private static final List<String> TYPES = List.of(
+                "de.thmac.swisseph.SwissEph",
+                "de.thmac.swisseph.SweDate",
+                "de.thmac.swisseph.SwissData",
+                "de.thmac.swisseph.SwissLib",
+                "de.thmac.swisseph.DblObj"
+        );
+
+        // Data files Swiss Ephemeris reads when present; Moshier mode works without them
+        private static final List<String> RESOURCES = List.of(
+                "ephe/*",
+                "*.se1",
+                "seleapsec.txt",
+                "sefstars.txt",
+                "seorbel.txt"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            TYPES.forEach(type -> hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.values()));
+            RESOURCES.forEach(pattern -> hints.resources().registerPattern(pattern));
+        }
+    }
+}
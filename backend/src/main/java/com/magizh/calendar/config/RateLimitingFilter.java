@@ -1,5 +1,10 @@
 package com.magizh.calendar.config;
 
+import com.magizh.calendar.observability.RequestStats;
+import com.magizh.calendar.ratelimit.RateLimitStore;
+import com.magizh.calendar.ratelimit.RateLimitTiers;
+import com.magizh.calendar.ratelimit.RequestCostCalculator;
+import com.magizh.calendar.security.ApiClient;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,30 +18,38 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Simple in-memory rate limiting filter.
- * Limits requests per minute per client (identified by API key or IP).
+ * Rate limiting filter.
+ * Limits compute units per minute per client (identified by API key or IP).
+ * Authenticated clients get the budget of their key's tier.
+ * Each request is charged what it costs to compute (see RequestCostCalculator),
+ * so a weekly call uses seven dailies' budget.
  *
- * Note: For horizontal scaling, replace with Redis-based rate limiting.
+ * Budgets live in a RateLimitStore: per node in memory by default, or shared
+ * across nodes through Redis with api.ratelimit.store=redis.
  */
 @Component
-@Order(1) // Run before authentication filter
+@Order(1) // Runs after the security filter chain, so the API client is known
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    @Value("${api.ratelimit.requests-per-minute:60}")
-    private int requestsPerMinute;
+    @Value("${api.ratelimit.units-per-minute:120}")
+    private int unitsPerMinute;
 
     @Value("${api.ratelimit.enabled:true}")
     private boolean rateLimitEnabled;
 
-    // Simple in-memory rate limiting (use Redis for production scaling)
-    private final Map<String, RateLimitBucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitStore rateLimiter;
+    private final RequestCostCalculator costCalculator;
+    private final RateLimitTiers tiers;
+
+    public RateLimitingFilter(RateLimitStore rateLimiter, RequestCostCalculator costCalculator, RateLimitTiers tiers) {
+        this.rateLimiter = rateLimiter;
+        this.costCalculator = costCalculator;
+        this.tiers = tiers;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -57,16 +70,20 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        String clientId = getClientIdentifier(request);
-        RateLimitBucket bucket = buckets.computeIfAbsent(
-            clientId,
-            k -> new RateLimitBucket(requestsPerMinute)
-        );
-
-        if (!bucket.tryConsume()) {
-            log.warn("Rate limit exceeded for client: {}", clientId);
+        // Set by ApiKeyAuthenticationFilter, which runs earlier in the security chain
+        ApiClient client = (ApiClient) request.getAttribute(ApiClient.REQUEST_ATTRIBUTE);
+        String clientId = client != null ? RateLimitStore.AUTHENTICATED_PREFIX + client.id() : getClientIdentifier(request);
+        long limit = client != null ? tiers.unitsPerMinute(client.tier(), unitsPerMinute) : unitsPerMinute;
+        long cost = costCalculator.costOf(request);
+        RequestStats.recordComputeUnits(cost);
+        long remaining = rateLimiter.tryConsume(clientId, cost, limit);
+        response.setHeader("X-Rate-Limit-Cost", String.valueOf(cost));
+
+        if (remaining < 0) {
+            log.warn("Rate limit exceeded for client: {} (cost {})", clientId, cost);
+            long retryAfterSeconds = (-remaining + 999) / 1000;
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setHeader("Retry-After", "60");
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
             response.setHeader("X-Rate-Limit-Remaining", "0");
             response.setContentType("application/problem+json");
             response.getWriter().write("""
@@ -80,17 +97,16 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        response.setHeader("X-Rate-Limit-Remaining",
-            String.valueOf(bucket.getRemaining()));
+        response.setHeader("X-Rate-Limit-Remaining", String.valueOf(remaining));
         filterChain.doFilter(request, response);
     }
 
     private String getClientIdentifier(HttpServletRequest request) {
-        // Prefer API key, fallback to IP
+        // Prefer API key, fallback to IP. Unregistered keys stay anonymous (not "key:")
         String apiKey = request.getHeader("X-API-Key");
         if (apiKey != null && !apiKey.isBlank()) {
             // Hash the API key for privacy in logs
-            return "key:" + Math.abs(apiKey.hashCode());
+            return "anon-key:" + Math.abs(apiKey.hashCode());
         }
 
         // Use IP address as fallback
@@ -100,32 +116,4 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         }
         return "ip:" + request.getRemoteAddr();
     }
-
-    /**
-     * Simple sliding window rate limit bucket.
-     * Resets counter every minute.
-     */
-    private static class RateLimitBucket {
-        private final int maxRequests;
-        private final AtomicInteger count = new AtomicInteger(0);
-        private volatile long windowStart = System.currentTimeMillis();
-
-        RateLimitBucket(int maxRequests) {
-            this.maxRequests = maxRequests;
-        }
-
-        synchronized boolean tryConsume() {
-            long now = System.currentTimeMillis();
-            // Reset counter if window has passed (1 minute)
-            if (now - windowStart > 60_000) {
-                windowStart = now;
-                count.set(0);
-            }
-            return count.incrementAndGet() <= maxRequests;
-        }
-
-        int getRemaining() {
-            return Math.max(0, maxRequests - count.get());
-        }
-    }
 }
@@ -1,13 +1,15 @@
 package com.magizh.calendar.config;
 
+import com.magizh.calendar.observability.AccessLog;
+import com.magizh.calendar.observability.RequestStats;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -19,13 +21,31 @@ import java.io.IOException;
 public class RequestLoggingConfig {
 
     @Bean
-    public RequestLoggingFilter requestLoggingFilter() {
-        return new RequestLoggingFilter();
+    public RequestLoggingFilter requestLoggingFilter(
+            AccessLog accessLog,
+            @Value("${api.access-log.enabled:true}") boolean enabled) {
+        return new RequestLoggingFilter(accessLog, enabled);
     }
 
-    public static class RequestLoggingFilter extends OncePerRequestFilter {
+    /**
+     * Records one access log entry per request. Runs first so rejected
+     * (401/429) requests are logged too, and opens the RequestStats that
+     * later filters and the cache fill in.
+     */
+    public static class RequestLoggingFilter extends OncePerRequestFilter implements Ordered {
 
-        private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+        private final AccessLog accessLog;
+        private final boolean enabled;
+
+        public RequestLoggingFilter(AccessLog accessLog, boolean enabled) {
+            this.accessLog = accessLog;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
 
         @Override
         protected void doFilterInternal(
@@ -34,8 +54,6 @@ public class RequestLoggingConfig {
                 FilterChain filterChain
         ) throws ServletException, IOException {
 
-            long startTime = System.currentTimeMillis();
-
             // Skip logging for static resources and actuator
             String path = request.getRequestURI();
             if (shouldSkipLogging(path)) {
@@ -43,25 +61,17 @@ public class RequestLoggingConfig {
                 return;
             }
 
+            // Stats are collected even with the access log off; Server-Timing uses them
+            long startTime = System.nanoTime();
+            RequestStats stats = RequestStats.open();
             try {
                 filterChain.doFilter(request, response);
             } finally {
-                long duration = System.currentTimeMillis() - startTime;
-
-                log.info("{} {} {} - {}ms",
-                        request.getMethod(),
-                        getFullPath(request),
-                        response.getStatus(),
-                        duration
-                );
-
-                // Warn on slow requests
-                if (duration > 1000) {
-                    log.warn("Slow request: {} {} took {}ms",
-                            request.getMethod(),
-                            path,
-                            duration
-                    );
+                RequestStats.close();
+                if (enabled) {
+                    // Query strings are left out: they may carry API keys (.ics feeds)
+                    accessLog.record(request.getMethod(), path, response.getStatus(),
+                            System.nanoTime() - startTime, stats);
                 }
             }
         }
@@ -75,13 +85,5 @@ public class RequestLoggingConfig {
                    path.endsWith(".js") ||
                    path.endsWith(".ico");
         }
-
-        private String getFullPath(HttpServletRequest request) {
-            String queryString = request.getQueryString();
-            if (queryString != null) {
-                return request.getRequestURI() + "?" + queryString;
-            }
-            return request.getRequestURI();
-        }
     }
 }
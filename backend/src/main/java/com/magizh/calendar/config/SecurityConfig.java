@@ -2,6 +2,7 @@ package com.magizh.calendar.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -46,11 +47,15 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints (no auth required)
                 .requestMatchers("/api/panchangam/health").permitAll()
-                .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/error").permitAll()
 
+                // Flight recordings expose internals; dev key only
+                .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("DEV")
+                .requestMatchers(HttpMethod.POST, "/actuator/precompute").hasRole("DEV")
+
                 // All other API endpoints require authentication
                 .requestMatchers("/api/**").authenticated()
 
@@ -0,0 +1,53 @@
+package com.magizh.calendar.config;
+
+import com.magizh.calendar.observability.RequestStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds a Server-Timing header with the per-stage breakdown of the request
+ * (see RequestStats), so slow requests can be profiled from a browser or curl.
+ *
+ * Sent when {@code api.server-timing.enabled} is set, or to clients with the
+ * ROLE_DEV role. The header is written just before the body is serialized,
+ * so serialization time itself is not included.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "Server-Timing";
+    private static final String DEV_ROLE = "ROLE_DEV";
+
+    @Value("${api.server-timing.enabled:false}")
+    private boolean enabledForAll;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null && (enabledForAll || isDev())) {
+            response.getHeaders().set(HEADER, stats.serverTimingHeader());
+        }
+        return body;
+    }
+
+    private static boolean isDev() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(authority -> DEV_ROLE.equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.magizh.calendar.config;
+
+import com.magizh.calendar.codec.PanchangamBinaryHttpMessageConverter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Adds {@code Vary: Accept} to responses whose body can be JSON or the
+ * binary panchangam format, so shared caches keep the two apart. Applies
+ * to both representations; a JSON response without it could be served to
+ * a client that asked for binary.
+ */
+@ControllerAdvice
+public class VaryAcceptAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return PanchangamBinaryHttpMessageConverter.isPanchangamType(bodyType(returnType.getGenericParameterType()));
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!response.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return body;
+    }
+
+    /**
+     * The body type, unwrapped from {@code ResponseEntity<T>}.
+     */
+    private static Type bodyType(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && HttpEntity.class.isAssignableFrom(raw)) {
+            return parameterized.getActualTypeArguments()[0];
+        }
+        return type;
+    }
+}
@@ -0,0 +1,120 @@
+package com.magizh.calendar.controller;
+
+import com.magizh.calendar.codec.PanchangamBinaryHttpMessageConverter;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.BundleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST Controller for downloadable year bundles.
+ *
+ * The index is small and short-lived; bundle URLs carry the bundle version,
+ * so the files behind them never change and are cached for a year.
+ */
+@RestController
+@RequestMapping("/api/panchangam/bundles")
+@Tag(name = "Bundles", description = "Per-city year bundles for offline use")
+public class BundleController {
+
+    private final BundleService bundleService;
+    private final CityProperties cityProperties;
+
+    public BundleController(BundleService bundleService, CityProperties cityProperties) {
+        this.bundleService = bundleService;
+        this.cityProperties = cityProperties;
+    }
+
+    /**
+     * Entry of the bundle index.
+     *
+     * @param city     City identifier used in bundle URLs
+     * @param name     Display name
+     * @param lat      Latitude the bundle was computed for
+     * @param lng      Longitude the bundle was computed for
+     * @param timezone Timezone of all times in the bundle
+     * @param urls     Bundle URLs for the current and next year
+     */
+    public record BundleIndexEntry(String city, String name, double lat, double lng, String timezone, List<String> urls) {
+    }
+
+    @Operation(
+            summary = "List available bundles",
+            description = "Configured cities with bundle URLs for the current and next year."
+    )
+    @GetMapping
+    public ResponseEntity<List<BundleIndexEntry>> getIndex() {
+        List<Integer> years = bundleService.currentYears();
+        List<BundleIndexEntry> index = cityProperties.cities().stream()
+                .map(city -> new BundleIndexEntry(city.slug(), city.name(), city.lat(), city.lng(), city.timezone(),
+                        years.stream().map(year -> url(city, year)).toList()))
+                .toList();
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .body(index);
+    }
+
+    @Operation(
+            summary = "Download a year bundle",
+            description = "Every day of the year for a configured city in the binary panchangam format."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bundle file"),
+            @ApiResponse(responseCode = "304", description = "Bundle unchanged"),
+            @ApiResponse(responseCode = "400", description = "Unknown city, year or bundle version")
+    })
+    @GetMapping("/v{version}/{city}/{year}.bin")
+    public ResponseEntity<Resource> getBundle(
+            @Parameter(description = "Bundle version from the index", example = "1.1")
+            @PathVariable String version,
+
+            @Parameter(description = "City identifier from the index", example = "chennai")
+            @PathVariable String city,
+
+            @Parameter(description = "Gregorian year", example = "2026")
+            @PathVariable int year,
+
+            WebRequest request
+    ) throws IOException {
+        if (!BundleService.VERSION.equals(version)) {
+            throw new IllegalArgumentException("Bundle version " + version + " is not available, current is " + BundleService.VERSION);
+        }
+        City target = cityProperties.findBySlug(city);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown city: " + city);
+        }
+        if (year < 1900 || year > 2100) {
+            throw new IllegalArgumentException("Year must be between 1900 and 2100");
+        }
+
+        String etag = "\"bundle-v" + BundleService.VERSION + "-" + target.slug() + "-" + year + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(PanchangamBinaryHttpMessageConverter.MEDIA_TYPE)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .eTag(etag)
+                .body(new FileSystemResource(bundleService.getOrGenerate(target, year)));
+    }
+
+    private String url(City city, int year) {
+        return "/api/panchangam/bundles/v" + BundleService.VERSION + "/" + city.slug() + "/" + year + ".bin";
+    }
+}
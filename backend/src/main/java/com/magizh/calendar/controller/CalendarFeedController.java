@@ -0,0 +1,193 @@
+package com.magizh.calendar.controller;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.RenderedFeedCache;
+import com.magizh.calendar.service.CalendarFeedService;
+import com.magizh.calendar.service.PanchangamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * REST Controller for iCalendar (.ics) export and subscription feeds.
+ *
+ * Feeds are a pure function of location, date range and calculation version,
+ * which makes up the ETag: polling calendars get a 304 without any work, and
+ * rendered feeds are kept in RenderedFeedCache so popular cities are computed once.
+ */
+@RestController
+@RequestMapping("/api/panchangam/calendar")
+@Validated
+@Tag(name = "Calendar Feed", description = "iCalendar export and subscription feeds")
+public class CalendarFeedController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+    private final RenderedFeedCache renderedFeedCache;
+
+    public CalendarFeedController(CalendarFeedService calendarFeedService, RenderedFeedCache renderedFeedCache) {
+        this.calendarFeedService = calendarFeedService;
+        this.renderedFeedCache = renderedFeedCache;
+    }
+
+    @Operation(
+            summary = "Export a year as iCalendar",
+            description = "Returns Rahukaalam, Ekadasi, Pournami, Amavasai and Tamil month starts for a Gregorian year as an .ics file."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "iCalendar document"),
+            @ApiResponse(responseCode = "304", description = "Feed unchanged since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid year or parameters")
+    })
+    @GetMapping("/{year}.ics")
+    public ResponseEntity<StreamingResponseBody> getYear(
+            @Parameter(description = "Gregorian year", example = "2026", required = true)
+            @PathVariable int year,
+
+            @Parameter(description = "Latitude of location", example = "13.0827")
+            @RequestParam(defaultValue = "13.0827") double lat,
+
+            @Parameter(description = "Longitude of location", example = "80.2707")
+            @RequestParam(defaultValue = "80.2707") double lng,
+
+            @Parameter(description = "Timezone identifier", example = "Asia/Kolkata")
+            @RequestParam(defaultValue = "Asia/Kolkata") String timezone,
+
+            WebRequest request
+    ) {
+        if (year < 1900 || year > 2100) {
+            throw new IllegalArgumentException("Year must be between 1900 and 2100");
+        }
+        return feed(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31),
+                lat, lng, timezone, Duration.ofDays(1), request);
+    }
+
+    @Operation(
+            summary = "Subscribe to the panchangam calendar",
+            description = "Subscription feed for calendar apps covering the current and the next year. Calendar apps cannot send headers, so the API key may be passed as the 'key' query parameter."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "iCalendar document"),
+            @ApiResponse(responseCode = "304", description = "Feed unchanged since the ETag in If-None-Match")
+    })
+    @GetMapping("/feed.ics")
+    public ResponseEntity<StreamingResponseBody> getSubscription(
+            @Parameter(description = "Latitude of location", example = "13.0827")
+            @RequestParam(defaultValue = "13.0827") double lat,
+
+            @Parameter(description = "Longitude of location", example = "80.2707")
+            @RequestParam(defaultValue = "80.2707") double lng,
+
+            @Parameter(description = "Timezone identifier", example = "Asia/Kolkata")
+            @RequestParam(defaultValue = "Asia/Kolkata") String timezone,
+
+            WebRequest request
+    ) {
+        int year = LocalDate.now(ZoneId.of(timezone)).getYear();
+        return feed(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 12, 31),
+                lat, lng, timezone, Duration.ofHours(6), request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> feed(
+            LocalDate from,
+            LocalDate to,
+            double lat,
+            double lng,
+            String timezone,
+            Duration maxAge,
+            WebRequest request
+    ) {
+        // Validate before anything is streamed
+        String zone = ZoneId.of(timezone).getId();
+        LocationKey location = LocationKey.of(lat, lng, zone);
+        String feedKey = "v" + PanchangamService.CALCULATION_VERSION
+                + ":" + location.latE2() + ":" + location.lngE2() + ":" + zone + ":" + from + ":" + to;
+        String etag = "\"" + feedKey + "\"";
+
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already prepared by checkNotModified
+        }
+
+        var builder = ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(etag)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"panchangam.ics\"");
+
+        byte[] cached = renderedFeedCache.get(feedKey);
+        if (cached != null) {
+            return builder.contentLength(cached.length).body(out -> out.write(cached));
+        }
+
+        return builder.body(out -> {
+            CapturingOutputStream capture = new CapturingOutputStream(out, renderedFeedCache.maxFeedBytes());
+            calendarFeedService.writeFeed(capture, from, to, lat, lng, zone);
+            byte[] rendered = capture.captured();
+            if (rendered != null) {
+                renderedFeedCache.put(feedKey, rendered);
+            }
+        });
+    }
+
+    /**
+     * Passes bytes straight through to the client while keeping a copy for
+     * the feed cache, giving up on the copy once it exceeds the size limit.
+     */
+    private static class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(64 * 1024);
+
+        CapturingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        byte[] captured() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+    }
+}
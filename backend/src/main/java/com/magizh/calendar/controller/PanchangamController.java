@@ -1,6 +1,10 @@
 package com.magizh.calendar.controller;
 
+import com.magizh.calendar.model.MonthGridResponse;
+import com.magizh.calendar.model.PanchangamField;
 import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.precompute.HotLocationTracker;
+import com.magizh.calendar.service.MonthGridService;
 import com.magizh.calendar.service.PanchangamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +19,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -27,14 +32,22 @@ import java.util.List;
 public class PanchangamController {
 
     private final PanchangamService panchangamService;
+    private final MonthGridService monthGridService;
+    private final HotLocationTracker hotLocations;
 
-    public PanchangamController(PanchangamService panchangamService) {
+    public PanchangamController(
+            PanchangamService panchangamService,
+            MonthGridService monthGridService,
+            HotLocationTracker hotLocations
+    ) {
         this.panchangamService = panchangamService;
+        this.monthGridService = monthGridService;
+        this.hotLocations = hotLocations;
     }
 
     @Operation(
             summary = "Get daily Panchangam",
-            description = "Returns complete Panchangam data for a specific date and location, including all five angams (Nakshatram, Thithi, Yogam, Karanam, Vaaram), timings, and food status."
+            description = "Returns Panchangam data for a specific date and location, including all five angams (Nakshatram, Thithi, Yogam, Karanam, Vaaram), timings, and food status. Use the fields parameter to compute and return only some of them."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved Panchangam data",
@@ -53,9 +66,15 @@ public class PanchangamController {
             @RequestParam(defaultValue = "80.2707") double lng,
 
             @Parameter(description = "Timezone identifier", example = "Asia/Kolkata")
-            @RequestParam(defaultValue = "Asia/Kolkata") String timezone
+            @RequestParam(defaultValue = "Asia/Kolkata") String timezone,
+
+            @Parameter(description = "Comma-separated fields to include (tamilDate, nakshatram, thithi, yogam, karanam, timings, foodStatus). Defaults to all.",
+                    example = "nakshatram,timings")
+            @RequestParam(required = false) String fields
     ) {
-        var response = panchangamService.getDailyPanchangam(date, lat, lng, timezone);
+        var response = panchangamService.getDailyPanchangam(
+                date, lat, lng, timezone, PanchangamField.parse(fields));
+        hotLocations.record(lat, lng, timezone);
         return ResponseEntity.ok(response);
     }
 
@@ -82,6 +101,35 @@ public class PanchangamController {
             @RequestParam(defaultValue = "Asia/Kolkata") String timezone
     ) {
         var response = panchangamService.getWeeklyPanchangam(startDate, lat, lng, timezone);
+        hotLocations.record(lat, lng, timezone);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Get month grid",
+            description = "Returns a compact, column-oriented summary of every day in the calendar grid for a month (whole weeks, Sunday to Saturday): Tamil date, thithi, nakshatram and food status. Intended for month views; use /daily for full details of a day."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved month grid",
+                    content = @Content(schema = @Schema(implementation = MonthGridResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid month format or parameters")
+    })
+    @GetMapping("/month")
+    public ResponseEntity<MonthGridResponse> getMonth(
+            @Parameter(description = "Month in YYYY-MM format", example = "2026-01", required = true)
+            @RequestParam @NotNull YearMonth month,
+
+            @Parameter(description = "Latitude of location", example = "13.0827")
+            @RequestParam(defaultValue = "13.0827") double lat,
+
+            @Parameter(description = "Longitude of location", example = "80.2707")
+            @RequestParam(defaultValue = "80.2707") double lng,
+
+            @Parameter(description = "Timezone identifier", example = "Asia/Kolkata")
+            @RequestParam(defaultValue = "Asia/Kolkata") String timezone
+    ) {
+        var response = monthGridService.getMonthGrid(month, lat, lng, timezone);
+        hotLocations.record(lat, lng, timezone);
         return ResponseEntity.ok(response);
     }
 
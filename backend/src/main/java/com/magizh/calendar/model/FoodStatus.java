@@ -34,6 +34,28 @@ public record FoodStatus(
         int daysAway
     ) {}
 
+    /**
+     * Food guidance for a day based on its thithi number (1-30).
+     * Special thithis like Ekadasi and Amavasya have dietary recommendations.
+     */
+    public static FoodStatus forThithi(int thithiNumber) {
+        if (thithiNumber == 11 || thithiNumber == 26) {
+            // Shukla and Krishna Ekadasi
+            return fasting();
+        } else if (thithiNumber == 30) {
+            // Amavasya (new moon)
+            return avoidNonVeg();
+        } else if (thithiNumber == 15) {
+            // Pournami (full moon)
+            return avoidNonVeg();
+        } else if (thithiNumber == 8 || thithiNumber == 23) {
+            // Some traditions avoid non-veg on Ashtami
+            return regular();
+        }
+
+        return regular();
+    }
+
     public static FoodStatus regular() {
         return new FoodStatus(
             FoodType.REGULAR,
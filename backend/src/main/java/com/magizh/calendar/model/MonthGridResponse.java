@@ -0,0 +1,29 @@
+package com.magizh.calendar.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Compact month grid for calendar views, laid out column by column.
+ * Every list has {@code days} entries; index i is the cell for startDate + i.
+ *
+ * @param month Requested Gregorian month
+ * @param startDate First cell of the grid (the Sunday on or before the 1st)
+ * @param days Number of cells (always whole weeks, typically 35 or 42)
+ * @param tamilMonth Tamil month name for each cell
+ * @param tamilDay Day of the Tamil month for each cell
+ * @param thithi Thithi name at sunrise for each cell
+ * @param nakshatram Nakshatram name at sunrise for each cell
+ * @param foodStatus Food guidance flag for each cell
+ */
+public record MonthGridResponse(
+    YearMonth month,
+    LocalDate startDate,
+    int days,
+    List<String> tamilMonth,
+    List<Integer> tamilDay,
+    List<String> thithi,
+    List<String> nakshatram,
+    List<FoodStatus.FoodType> foodStatus
+) {}
@@ -0,0 +1,72 @@
+package com.magizh.calendar.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Selectable parts of a PanchangamResponse, used by the {@code fields} parameter.
+ * The wire names match the JSON property names of PanchangamResponse.
+ */
+public enum PanchangamField {
+    TAMIL_DATE("tamilDate"),
+    NAKSHATRAM("nakshatram"),
+    THITHI("thithi"),
+    YOGAM("yogam"),
+    KARANAM("karanam"),
+    TIMINGS("timings"),
+    FOOD_STATUS("foodStatus");
+
+    /** Every field - the default when no selection is given. */
+    public static final Set<PanchangamField> ALL = Collections.unmodifiableSet(EnumSet.allOf(PanchangamField.class));
+
+    private final String value;
+
+    PanchangamField(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Parse a comma-separated field list such as {@code "thithi,timings"}.
+     * A null or blank list selects every field.
+     *
+     * @throws IllegalArgumentException if a name is not a known field
+     */
+    public static Set<PanchangamField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        EnumSet<PanchangamField> selected = EnumSet.noneOf(PanchangamField.class);
+        for (String name : fields.split(",")) {
+            selected.add(fromValue(name.trim()));
+        }
+        return selected;
+    }
+
+    /**
+     * Bit mask of a field selection, stable across releases as long as
+     * constants are only ever appended.
+     */
+    public static int mask(Set<PanchangamField> fields) {
+        int mask = 0;
+        for (PanchangamField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    private static PanchangamField fromValue(String value) {
+        for (PanchangamField field : values()) {
+            if (field.value.equals(value)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + value + "'. Valid fields: "
+                + "tamilDate, nakshatram, thithi, yogam, karanam, timings, foodStatus");
+    }
+}
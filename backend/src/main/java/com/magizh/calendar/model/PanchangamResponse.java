@@ -1,10 +1,14 @@
 package com.magizh.calendar.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
+import java.util.Set;
 
 /**
  * Complete Panchangam response for a single day
- * Contains all five angams plus timing and food information
+ * Contains all five angams plus timing and food information.
+ * Parts not selected through the {@code fields} parameter are null and left out of the JSON.
  *
  * @param date Gregorian date
  * @param tamilDate Tamil calendar date
@@ -15,6 +19,7 @@ import java.time.LocalDate;
  * @param timings All timing information
  * @param foodStatus Food guidance for the day
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PanchangamResponse(
     LocalDate date,
     TamilDate tamilDate,
@@ -24,4 +29,23 @@ public record PanchangamResponse(
     Karanam karanam,
     Timings timings,
     FoodStatus foodStatus
-) {}
+) {
+    /**
+     * Copy of this response keeping only the selected fields.
+     */
+    public PanchangamResponse select(Set<PanchangamField> fields) {
+        if (fields.containsAll(PanchangamField.ALL)) {
+            return this;
+        }
+        return new PanchangamResponse(
+            date,
+            fields.contains(PanchangamField.TAMIL_DATE) ? tamilDate : null,
+            fields.contains(PanchangamField.NAKSHATRAM) ? nakshatram : null,
+            fields.contains(PanchangamField.THITHI) ? thithi : null,
+            fields.contains(PanchangamField.YOGAM) ? yogam : null,
+            fields.contains(PanchangamField.KARANAM) ? karanam : null,
+            fields.contains(PanchangamField.TIMINGS) ? timings : null,
+            fields.contains(PanchangamField.FOOD_STATUS) ? foodStatus : null
+        );
+    }
+}
@@ -0,0 +1,216 @@
+package com.magizh.calendar.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous access log.
+ *
+ * Request threads copy a few fields into a preallocated slot of a ring
+ * buffer and return; nothing is formatted or written on the request path.
+ * A background writer drains the ring in batches and writes one logfmt line
+ * per request to the {@code com.magizh.calendar.access} logger:
+ * <pre>
+ * method=GET path=/api/panchangam/daily status=200 duration_ns=812345 cache=hit units=1
+ * </pre>
+ *
+ * Producers claim slots with a CAS on the tail and never wait. When the
+ * writer falls a full ring behind, new records are dropped and counted
+ * rather than blocking requests; the count is exported as
+ * {@code access.log.dropped}.
+ */
+@Component
+public class AccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+    private static final Logger accessLog = LoggerFactory.getLogger("com.magizh.calendar.access");
+
+    private static final int BATCH_SIZE = 256;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final long slowRequestNanos;
+    private final long drainIntervalNanos;
+    private final Consumer<String> sink;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private final StringBuilder line = new StringBuilder(128);
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public AccessLog(
+            @Value("${api.access-log.buffer-size:8192}") int bufferSize,
+            @Value("${api.access-log.drain-interval-ms:100}") long drainIntervalMs,
+            @Value("${api.access-log.slow-request-ms:1000}") long slowRequestMs,
+            MeterRegistry meterRegistry
+    ) {
+        this(bufferSize, drainIntervalMs, slowRequestMs, accessLog::info);
+        FunctionCounter.builder("access.log.dropped", this, AccessLog::droppedCount)
+                .description("Access log records dropped because the writer fell behind")
+                .register(meterRegistry);
+    }
+
+    AccessLog(int bufferSize, long drainIntervalMs, long slowRequestMs, Consumer<String> sink) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.drainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(drainIntervalMs);
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+        this.sink = sink;
+    }
+
+    /**
+     * Queue one access record. Never blocks; drops the record if the ring is full.
+     */
+    public void record(String method, String path, int status, long durationNanos, RequestStats stats) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.method = method;
+        slot.path = path;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.cacheHits = stats != null ? stats.cacheHits() : 0;
+        slot.cacheMisses = stats != null ? stats.cacheMisses() : 0;
+        slot.computeUnits = stats != null ? stats.computeUnits() : -1;
+        slot.published = sequence + 1; // volatile write publishes the fields above
+    }
+
+    /**
+     * Write out up to one batch of records. Only called by the writer thread
+     * (or tests), so formatting state needs no locking.
+     *
+     * @return number of records written
+     */
+    int drain() {
+        long next = head;
+        int written = 0;
+        while (written < BATCH_SIZE) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next + 1) {
+                break; // Empty, or claimed but not yet filled in
+            }
+            write(slot);
+            slot.method = null;
+            slot.path = null;
+            next++;
+            written++;
+        }
+        head = next;
+        reportDropped();
+        return written;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("access-log-writer").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        }
+        while (drain() > 0) {
+            // Flush what is left
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drain() < BATCH_SIZE) {
+                    LockSupport.parkNanos(drainIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Access log writer failed", e);
+            }
+        }
+    }
+
+    private void write(Slot slot) {
+        line.setLength(0);
+        line.append("method=").append(slot.method)
+                .append(" path=").append(slot.path)
+                .append(" status=").append(slot.status)
+                .append(" duration_ns=").append(slot.durationNanos)
+                .append(" cache=").append(cacheOutcome(slot.cacheHits, slot.cacheMisses))
+                .append(" units=");
+        if (slot.computeUnits >= 0) {
+            line.append(slot.computeUnits);
+        } else {
+            line.append('-');
+        }
+        sink.accept(line.toString());
+
+        if (slot.durationNanos > slowRequestNanos) {
+            log.warn("Slow request: {} {} took {}ms",
+                    slot.method, slot.path, TimeUnit.NANOSECONDS.toMillis(slot.durationNanos));
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > droppedReported) {
+            log.warn("Access log buffer full, dropped {} records ({} total)", total - droppedReported, total);
+            droppedReported = total;
+        }
+    }
+
+    private static String cacheOutcome(int hits, int misses) {
+        if (hits == 0 && misses == 0) {
+            return "-";
+        }
+        if (misses == 0) {
+            return "hit";
+        }
+        return hits == 0 ? "miss" : "partial";
+    }
+
+    private static final class Slot {
+        volatile long published;
+        String method;
+        String path;
+        int status;
+        long durationNanos;
+        int cacheHits;
+        int cacheMisses;
+        long computeUnits;
+    }
+}
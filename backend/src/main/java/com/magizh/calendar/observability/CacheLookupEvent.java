@@ -0,0 +1,26 @@
+package com.magizh.calendar.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one cache lookup.
+ */
+@Name("com.magizh.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Magizh", "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,38 @@
+package com.magizh.calendar.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one Swiss Ephemeris call (swe_calc_ut or swe_rise_trans).
+ *
+ * A daily panchangam makes a few hundred of these, so the event is off by
+ * default; recordings started through the jfr actuator endpoint enable it.
+ */
+@Name("com.magizh.EphemerisCall")
+@Label("Ephemeris Call")
+@Category({"Magizh", "Astronomy"})
+@Description("One Swiss Ephemeris calculation")
+@Enabled(false)
+@StackTrace(false)
+public class EphemerisCallEvent extends Event {
+
+    @Label("Function")
+    public String function;
+
+    @Label("Body")
+    @Description("Swiss Ephemeris body number (0 = Sun, 1 = Moon)")
+    public int body;
+
+    @Label("Julian Day (UT)")
+    public double julianDay;
+
+    @Label("Fallback")
+    @Description("The call failed and a fallback was used")
+    public boolean fallback;
+}
@@ -0,0 +1,108 @@
+package com.magizh.calendar.observability;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Dev-only actuator endpoint controlling one JFR recording with the Magizh
+ * events enabled, plus virtual-thread pinning.
+ *
+ * - {@code GET /actuator/jfr} - recording status
+ * - {@code POST /actuator/jfr} - start, body {@code {"settings": "profile", "maxAgeSeconds": 600}} (both optional)
+ * - {@code GET /actuator/jfr/dump} - download what has been recorded so far; keeps recording
+ * - {@code DELETE /actuator/jfr} - stop and discard
+ *
+ * Only registered in the dev profile and restricted to ROLE_DEV.
+ */
+@Component
+@Profile("dev")
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final String[] MAGIZH_EVENTS = {
+        "com.magizh.EphemerisCall",
+        "com.magizh.SolverRun",
+        "com.magizh.CacheLookup"
+    };
+
+    private Recording recording;
+
+    /**
+     * @param recording    Whether a recording is running
+     * @param startTime    When it started (null if none)
+     * @param recordedBytes Bytes written so far
+     */
+    public record JfrStatus(boolean recording, Instant startTime, long recordedBytes) {}
+
+    @ReadOperation
+    public synchronized JfrStatus status() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new JfrStatus(false, null, 0);
+        }
+        return new JfrStatus(true, recording.getStartTime(), recording.getSize());
+    }
+
+    @WriteOperation
+    public synchronized JfrStatus start(@Nullable String settings, @Nullable Integer maxAgeSeconds)
+            throws IOException, ParseException {
+        if (recording != null) {
+            recording.close();
+        }
+        Configuration configuration = Configuration.getConfiguration(settings != null ? settings : "profile");
+        Recording started = new Recording(configuration);
+        started.setName("magizh");
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofSeconds(maxAgeSeconds != null ? maxAgeSeconds : 600));
+        for (String event : MAGIZH_EVENTS) {
+            started.enable(event);
+        }
+        started.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Resource dump(@Selector String action) throws IOException {
+        if (!"dump".equals(action) || recording == null) {
+            return null;
+        }
+        Path file = Files.createTempFile("magizh-", ".jfr");
+        try {
+            recording.dump(file);
+            // Deleted once the response has been streamed and the stream closed
+            return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @DeleteOperation
+    public synchronized JfrStatus stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        return status();
+    }
+}
@@ -0,0 +1,147 @@
+package com.magizh.calendar.observability;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Counters for the request being handled on the current thread.
+ *
+ * Opened by the request logging filter and filled in by code deeper in the
+ * call (cache lookups, rate limiting, computation stages, ephemeris calls)
+ * without passing it through every method. Outside a request, or on threads
+ * a request hands work to, {@link #current()} is null and the record methods
+ * do nothing.
+ */
+public final class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long startNanos = System.nanoTime();
+    private int cacheHits;
+    private int cacheMisses;
+    private long computeUnits = -1;
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private final int[] stageEphemerisCalls = new int[STAGES.length];
+    private Stage currentStage;
+    private int ephemerisCalls;
+
+    public static RequestStats open() {
+        RequestStats stats = new RequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void recordCacheLookup(boolean hit) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            if (hit) {
+                stats.cacheHits++;
+            } else {
+                stats.cacheMisses++;
+            }
+        }
+    }
+
+    public static void recordComputeUnits(long units) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.computeUnits = units;
+        }
+    }
+
+    /**
+     * Count one Swiss Ephemeris call against the request and its current stage.
+     */
+    public static void recordEphemerisCall() {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.ephemerisCalls++;
+            if (stats.currentStage != null) {
+                stats.stageEphemerisCalls[stats.currentStage.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Run {@code work} as {@code stage}, adding its duration and ephemeris
+     * calls to the stage totals. Time in a nested stage counts for both.
+     */
+    public static <T> T time(Stage stage, Supplier<T> work) {
+        RequestStats stats = CURRENT.get();
+        if (stats == null) {
+            return work.get();
+        }
+        Stage outer = stats.currentStage;
+        stats.currentStage = stage;
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            stats.stageNanos[stage.ordinal()] += System.nanoTime() - start;
+            stats.currentStage = outer;
+        }
+    }
+
+    public int cacheHits() {
+        return cacheHits;
+    }
+
+    public int cacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * @return units charged by the rate limiter, or -1 if not charged
+     */
+    public long computeUnits() {
+        return computeUnits;
+    }
+
+    public int ephemerisCalls() {
+        return ephemerisCalls;
+    }
+
+    public long stageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    public int stageEphemerisCalls(Stage stage) {
+        return stageEphemerisCalls[stage.ordinal()];
+    }
+
+    /**
+     * Server-Timing header value: one metric per stage that ran, plus the
+     * total so far, e.g. {@code sunrise;dur=1.204;desc="ephem=1", total;dur=9.870;desc="ephem=88"}.
+     * Durations are in milliseconds.
+     */
+    public String serverTimingHeader() {
+        StringBuilder header = new StringBuilder(256);
+        for (Stage stage : STAGES) {
+            long nanos = stageNanos[stage.ordinal()];
+            if (nanos > 0) {
+                appendMetric(header, stage.headerName(), nanos, stageEphemerisCalls[stage.ordinal()]);
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos, ephemerisCalls);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos, int ephemerisCalls) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name)
+                .append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0))
+                .append(";desc=\"ephem=").append(ephemerisCalls).append('"');
+    }
+}
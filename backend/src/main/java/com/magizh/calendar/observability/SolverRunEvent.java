@@ -0,0 +1,54 @@
+package com.magizh.calendar.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one root-finding run: a bisection for a lunar transition or
+ * a Yogam boundary scan.
+ */
+@Name("com.magizh.SolverRun")
+@Label("Solver Run")
+@Category({"Magizh", "Astronomy"})
+@Description("One root-finding search for an angam boundary")
+@StackTrace(false)
+public class SolverRunEvent extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Target")
+    @Description("Target angle in degrees")
+    public double target;
+
+    @Label("Iterations")
+    public int iterations;
+
+    @Label("Bracket Width")
+    @Description("Width of the searched time window")
+    @Timespan(Timespan.MILLISECONDS)
+    public long bracketMillis;
+
+    @Label("Found")
+    public boolean found;
+
+    /**
+     * Commit a run that began with {@link #begin()}; fields are only filled in when recorded.
+     */
+    public void complete(String solver, double target, int iterations, long bracketMillis, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.solver = solver;
+            this.target = target;
+            this.iterations = iterations;
+            this.bracketMillis = bracketMillis;
+            this.found = found;
+            commit();
+        }
+    }
+}
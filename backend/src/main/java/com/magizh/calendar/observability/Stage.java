@@ -0,0 +1,27 @@
+package com.magizh.calendar.observability;
+
+/**
+ * Stages of a panchangam computation reported in the Server-Timing header.
+ * Header names match the JSON field names where a stage computes one field.
+ */
+public enum Stage {
+    CACHE("cache"),
+    SUNRISE("sunrise"),
+    TAMIL_DATE("tamilDate"),
+    NAKSHATRAM("nakshatram"),
+    THITHI("thithi"),
+    YOGAM("yogam"),
+    KARANAM("karanam"),
+    TIMINGS("timings"),
+    FOOD_STATUS("foodStatus");
+
+    private final String headerName;
+
+    Stage(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public String headerName() {
+        return headerName;
+    }
+}
@@ -0,0 +1,94 @@
+package com.magizh.calendar.precompute;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch: approximate counts for an unbounded set of keys in
+ * fixed memory ({@code depth * width} ints).
+ *
+ * Each key maps to one counter per row; its estimate is the smallest of
+ * them. Collisions only ever add, so estimates never undercount, and the
+ * overcount is bounded by total count / width with high probability.
+ *
+ * Increments are lock-free. {@link #halve()} ages all counts so keys that
+ * stop being requested fade out; it races benignly with increments.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param depth Number of rows (hash functions)
+     * @param width Counters per row, rounded up to a power of two
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Depth and width must be positive");
+        }
+        int rowWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = rowWidth - 1;
+        this.counters = new AtomicIntegerArray(depth * rowWidth);
+    }
+
+    /**
+     * Count one occurrence of a key.
+     *
+     * @return the key's estimated count, including this occurrence
+     */
+    int add(long hash) {
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int count = counters.incrementAndGet(index(row, h1 + row * h2));
+            if (count < 0) {
+                counters.set(index(row, h1 + row * h2), Integer.MAX_VALUE);
+                count = Integer.MAX_VALUE;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    int estimate(long hash) {
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1 + row * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halve every counter.
+     */
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    int memoryBytes() {
+        return counters.length() * Integer.BYTES;
+    }
+
+    private int index(int row, int hash) {
+        return row * (mask + 1) + (hash & mask);
+    }
+
+    // MurmurHash3 fmix64, so nearby grid points spread over the rows
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
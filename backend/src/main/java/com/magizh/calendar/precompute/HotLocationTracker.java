@@ -0,0 +1,196 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.config.CityProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the locations users actually ask for and adds them to the
+ * precompute window next to the configured cities.
+ *
+ * Every panchangam request counts its canonical location ({@link LocationKey},
+ * 0.01° grid plus timezone) in a {@link CountMinSketch}; a small top-K table
+ * keeps the heaviest keys seen. Memory is fixed however many distinct
+ * locations arrive: the sketch is {@code depth * width} ints and the table
+ * holds at most {@code top-k} keys.
+ *
+ * Every {@code api.precompute.hot.interval-ms} the tracker rebalances:
+ * - Promotes the heaviest keys at or above {@code promote-threshold}, up to {@code max-promoted}
+ * - Demotes promoted keys that fell below {@code demote-threshold}
+ * - Halves all counts, so a count reads as requests over roughly the last two intervals
+ *
+ * The gap between the two thresholds keeps keys near the edge from flapping.
+ * Recording is lock-free except for a {@code tryLock} when a key beats the
+ * smallest count in the table; if another thread holds it, the update is
+ * skipped and the key's next request tries again.
+ */
+@Component
+public class HotLocationTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(HotLocationTracker.class);
+
+    private static final int DEPTH = 4;
+
+    private final PrecomputeService precomputeService;
+    private final Set<LocationKey> configuredCities;
+    private final boolean enabled;
+    private final int topK;
+    private final int maxPromoted;
+    private final int promoteThreshold;
+    private final int demoteThreshold;
+    private final CountMinSketch sketch;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<LocationKey, Integer> top = new HashMap<>();
+    private volatile int floor;
+
+    private volatile Set<LocationKey> promoted = Set.of();
+
+    public HotLocationTracker(
+            PrecomputeService precomputeService,
+            CityProperties cityProperties,
+            @Value("${api.precompute.hot.enabled:true}") boolean enabled,
+            @Value("${api.precompute.hot.sketch-width:4096}") int sketchWidth,
+            @Value("${api.precompute.hot.top-k:64}") int topK,
+            @Value("${api.precompute.hot.max-promoted:32}") int maxPromoted,
+            @Value("${api.precompute.hot.promote-threshold:100}") int promoteThreshold,
+            @Value("${api.precompute.hot.demote-threshold:20}") int demoteThreshold
+    ) {
+        if (demoteThreshold > promoteThreshold) {
+            throw new IllegalArgumentException("api.precompute.hot.demote-threshold must not exceed promote-threshold");
+        }
+        this.precomputeService = precomputeService;
+        this.configuredCities = cityProperties.cities().stream()
+                .map(city -> LocationKey.of(city.lat(), city.lng(), city.timezone()))
+                .collect(Collectors.toUnmodifiableSet());
+        this.enabled = enabled;
+        this.topK = topK;
+        this.maxPromoted = maxPromoted;
+        this.promoteThreshold = promoteThreshold;
+        this.demoteThreshold = demoteThreshold;
+        this.sketch = new CountMinSketch(DEPTH, sketchWidth);
+    }
+
+    /**
+     * Count one request for a location. Call after the request succeeded, so
+     * invalid input never reaches the sketch.
+     */
+    public void record(double lat, double lng, String timezone) {
+        if (!enabled) {
+            return;
+        }
+        LocationKey key = LocationKey.of(lat, lng, timezone);
+        if (configuredCities.contains(key)) {
+            return; // Always precomputed
+        }
+        int estimate = sketch.add(hash(key));
+        if (estimate <= floor || !lock.tryLock()) {
+            return;
+        }
+        try {
+            top.put(key, estimate);
+            if (top.size() > topK) {
+                top.remove(smallest());
+            }
+            floor = top.size() < topK ? 0 : top.get(smallest());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Promote and demote locations, then age the counts.
+     */
+    @Scheduled(fixedDelayString = "${api.precompute.hot.interval-ms:300000}",
+            initialDelayString = "${api.precompute.hot.interval-ms:300000}")
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        Map<LocationKey, Integer> counts;
+        lock.lock();
+        try {
+            counts = new HashMap<>(top);
+            sketch.halve();
+            top.replaceAll((key, count) -> count >>> 1);
+            top.values().removeIf(count -> count == 0);
+            floor = top.size() < topK ? 0 : top.get(smallest());
+        } finally {
+            lock.unlock();
+        }
+
+        Set<LocationKey> next = new HashSet<>(promoted);
+        next.removeIf(key -> counts.getOrDefault(key, 0) < demoteThreshold);
+        List<LocationKey> candidates = counts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= promoteThreshold)
+                .sorted(Map.Entry.<LocationKey, Integer>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+        for (LocationKey key : candidates) {
+            if (next.size() >= maxPromoted) {
+                break;
+            }
+            next.add(key);
+        }
+
+        if (!next.equals(promoted)) {
+            Set<LocationKey> added = new HashSet<>(next);
+            added.removeAll(promoted);
+            log.info("Hot locations: {} promoted, {} demoted, {} total",
+                    added.size(), promoted.size() - (next.size() - added.size()), next.size());
+            promoted = Set.copyOf(next);
+            precomputeService.setHotLocations(promoted);
+            if (!added.isEmpty()) {
+                precomputeService.pool().execute(precomputeService::refresh);
+            }
+        }
+    }
+
+    /**
+     * Current top-K estimates, heaviest first.
+     */
+    public Map<LocationKey, Integer> topLocations() {
+        lock.lock();
+        try {
+            return top.entrySet().stream()
+                    .sorted(Map.Entry.<LocationKey, Integer>comparingByValue().reversed())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                            (a, b) -> a, LinkedHashMap::new));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Set<LocationKey> promoted() {
+        return promoted;
+    }
+
+    int estimate(double lat, double lng, String timezone) {
+        return sketch.estimate(hash(LocationKey.of(lat, lng, timezone)));
+    }
+
+    private LocationKey smallest() {
+        return top.entrySet().stream()
+                .min(Comparator.comparingInt(Map.Entry::getValue))
+                .map(Map.Entry::getKey)
+                .orElseThrow();
+    }
+
+    private static long hash(LocationKey key) {
+        return ((long) key.latE2() << 40) ^ ((long) key.lngE2() << 16) ^ key.timezone().hashCode();
+    }
+}
@@ -0,0 +1,171 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.service.PanchangamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes "tomorrow" for hot locations shortly before their local midnight,
+ * so the rollover, when every client in a zone asks for the new day at once,
+ * is served from cache.
+ *
+ * Hot locations are the configured cities plus everything
+ * {@link HotLocationTracker} currently tracks, grouped by timezone. Each
+ * zone's next midnight comes from its {@code ZoneRules} via
+ * {@link LocalDate#atStartOfDay(ZoneId)}, so DST changes are followed, and
+ * zones where midnight does not exist on a transition day roll over at the
+ * first valid time instead.
+ *
+ * The work for a zone is spread evenly over the first three quarters of the
+ * lead time ({@code api.precompute.preroll.lead-minutes}) and runs on the
+ * precompute pool; the last quarter is slack for it to finish. Days already
+ * cached, for example by the precompute window, are skipped.
+ */
+@Component
+public class MidnightPreroll {
+
+    private static final Logger log = LoggerFactory.getLogger(MidnightPreroll.class);
+
+    private final PanchangamService panchangamService;
+    private final PrecomputeService precomputeService;
+    private final HotLocationTracker hotLocationTracker;
+    private final Set<LocationKey> configuredCities;
+    private final boolean enabled;
+    private final Duration leadTime;
+
+    // Per zone: the day being rolled over to and the locations already queued for it
+    private final Map<ZoneId, Rollover> rollovers = new HashMap<>();
+
+    private final Counter computed;
+    private final Counter cached;
+
+    public MidnightPreroll(
+            PanchangamService panchangamService,
+            PrecomputeService precomputeService,
+            HotLocationTracker hotLocationTracker,
+            CityProperties cityProperties,
+            MeterRegistry meterRegistry,
+            @Value("${api.precompute.preroll.enabled:true}") boolean enabled,
+            @Value("${api.precompute.preroll.lead-minutes:30}") int leadMinutes
+    ) {
+        if (leadMinutes < 1) {
+            throw new IllegalArgumentException("api.precompute.preroll.lead-minutes must be at least 1");
+        }
+        this.panchangamService = panchangamService;
+        this.precomputeService = precomputeService;
+        this.hotLocationTracker = hotLocationTracker;
+        this.configuredCities = Set.copyOf(cityProperties.cities().stream()
+                .map(city -> LocationKey.of(city.lat(), city.lng(), city.timezone()))
+                .toList());
+        this.enabled = enabled;
+        this.leadTime = Duration.ofMinutes(leadMinutes);
+        this.computed = outcome(meterRegistry, "computed");
+        this.cached = outcome(meterRegistry, "cached");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("panchangam.preroll")
+                .tag("outcome", outcome)
+                .description("Days pre-rolled before local midnight, by whether they had to be computed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.precompute.preroll.tick-ms:30000}")
+    public void tick() {
+        if (enabled) {
+            tick(Instant.now());
+        }
+    }
+
+    /**
+     * Queue the share of each zone's locations that is due by {@code now}.
+     *
+     * @return number of days queued
+     */
+    int tick(Instant now) {
+        int queued = 0;
+        for (Map.Entry<ZoneId, List<LocationKey>> zone : locationsByZone().entrySet()) {
+            ZoneId zoneId = zone.getKey();
+            LocalDate tomorrow = now.atZone(zoneId).toLocalDate().plusDays(1);
+            Instant midnight = tomorrow.atStartOfDay(zoneId).toInstant();
+            Instant leadStart = midnight.minus(leadTime);
+            if (now.isBefore(leadStart)) {
+                continue;
+            }
+
+            Rollover rollover = rollovers.get(zoneId);
+            if (rollover == null || !rollover.date().equals(tomorrow)) {
+                rollover = new Rollover(tomorrow, new HashSet<>());
+                rollovers.put(zoneId, rollover);
+            }
+            List<LocationKey> locations = zone.getValue();
+            int due = dueCount(locations.size(), Duration.between(leadStart, now));
+            for (LocationKey location : locations) {
+                if (rollover.queued().size() >= due) {
+                    break;
+                }
+                if (rollover.queued().add(location)) {
+                    precomputeService.pool().execute(() -> roll(tomorrow, location));
+                    queued++;
+                }
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Locations due after {@code elapsed} of the lead time: a linear ramp
+     * that reaches all of them three quarters of the way in.
+     */
+    int dueCount(int locations, Duration elapsed) {
+        long spreadMillis = leadTime.toMillis() * 3 / 4;
+        if (elapsed.toMillis() >= spreadMillis) {
+            return locations;
+        }
+        return Math.max(1, (int) Math.ceil((double) locations * elapsed.toMillis() / spreadMillis));
+    }
+
+    private void roll(LocalDate date, LocationKey location) {
+        try {
+            boolean wasComputed = panchangamService.precomputeDailyPanchangam(
+                    date, location.latitude(), location.longitude(), location.timezone());
+            (wasComputed ? computed : cached).increment();
+        } catch (RuntimeException e) {
+            log.warn("Pre-roll failed for {} {}: {}", location, date, e.getMessage());
+        }
+    }
+
+    private Map<ZoneId, List<LocationKey>> locationsByZone() {
+        Set<LocationKey> locations = new LinkedHashSet<>(configuredCities);
+        locations.addAll(precomputeService.hotLocations());
+        locations.addAll(hotLocationTracker.topLocations().keySet());
+
+        Map<ZoneId, List<LocationKey>> byZone = new HashMap<>();
+        for (LocationKey location : locations) {
+            byZone.computeIfAbsent(ZoneId.of(location.timezone()), zone -> new ArrayList<>()).add(location);
+        }
+        return byZone;
+    }
+
+    private record Rollover(LocalDate date, Set<LocationKey> queued) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.magizh.calendar.precompute;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint for the precompute window.
+ *
+ * - {@code GET /actuator/precompute} - refresh progress and cache coverage
+ * - {@code POST /actuator/precompute} - start a refresh in the background (dev key only)
+ */
+@Component
+@Endpoint(id = "precompute")
+public class PrecomputeEndpoint {
+
+    private final PrecomputeService precomputeService;
+
+    public PrecomputeEndpoint(PrecomputeService precomputeService) {
+        this.precomputeService = precomputeService;
+    }
+
+    @ReadOperation
+    public PrecomputeProgress progress() {
+        return precomputeService.progress();
+    }
+
+    @WriteOperation
+    public PrecomputeProgress refresh() {
+        precomputeService.pool().execute(precomputeService::refresh);
+        return precomputeService.progress();
+    }
+}
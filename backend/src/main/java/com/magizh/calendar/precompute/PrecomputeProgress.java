@@ -0,0 +1,34 @@
+package com.magizh.calendar.precompute;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Precompute status, served by {@code /actuator/precompute}.
+ *
+ * @param running            Whether a refresh is in progress
+ * @param lastStarted        Start of the current or last refresh
+ * @param lastFinished       End of the last completed refresh
+ * @param lastDurationMillis Duration of the last completed refresh
+ * @param total              Days in the window of the current or last refresh
+ * @param done               Days checked so far
+ * @param computed           Days that were missing and got computed
+ * @param coverage           Share of the window cached right now (0-1)
+ * @param coverageByCity     Coverage by city slug
+ * @param hotLocations       Locations promoted by {@link HotLocationTracker}
+ * @param hotCoverage        Share of the hot locations' window cached right now (0-1)
+ */
+public record PrecomputeProgress(
+        boolean running,
+        Instant lastStarted,
+        Instant lastFinished,
+        long lastDurationMillis,
+        int total,
+        int done,
+        int computed,
+        double coverage,
+        Map<String, Double> coverageByCity,
+        int hotLocations,
+        double hotCoverage
+) {
+}
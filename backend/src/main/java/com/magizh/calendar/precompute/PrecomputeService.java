@@ -0,0 +1,254 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.PanchangamService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the panchangam cache filled for the configured cities
+ * ({@code api.cities}) over a rolling window, by default yesterday to 60
+ * days ahead in each city's own timezone, so peak traffic for them never
+ * reaches AstronomyService. Cached days carry sunrise and sunset, so there is
+ * no separate sunrise cache to fill.
+ *
+ * A refresh runs at startup and nightly ({@code api.precompute.cron}). It
+ * computes only the days missing from the cache: new days entering the
+ * window, and days evicted by other traffic since the last run.
+ *
+ * Locations promoted by {@link HotLocationTracker} are kept cached too, over
+ * a shorter window ({@code api.precompute.hot.days-ahead}).
+ *
+ * Work runs on a work-stealing pool of low-priority daemon threads, limited
+ * to half the cores by default so request threads keep the rest.
+ */
+@Service
+public class PrecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecomputeService.class);
+
+    private final PanchangamService panchangamService;
+    private final PanchangamCache panchangamCache;
+    private final CityProperties cityProperties;
+    private final boolean enabled;
+    private final int daysBehind;
+    private final int daysAhead;
+    private final int hotDaysAhead;
+    private final ForkJoinPool pool;
+
+    private volatile Set<LocationKey> hotLocations = Set.of();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger computed = new AtomicInteger();
+    private volatile Instant lastStarted;
+    private volatile Instant lastFinished;
+    private volatile long lastDurationMillis;
+
+    public PrecomputeService(
+            PanchangamService panchangamService,
+            PanchangamCache panchangamCache,
+            CityProperties cityProperties,
+            @Value("${api.precompute.enabled:true}") boolean enabled,
+            @Value("${api.precompute.days-behind:1}") int daysBehind,
+            @Value("${api.precompute.days-ahead:60}") int daysAhead,
+            @Value("${api.precompute.hot.days-ahead:14}") int hotDaysAhead,
+            @Value("${api.precompute.parallelism:0}") int parallelism
+    ) {
+        this.panchangamService = panchangamService;
+        this.panchangamCache = panchangamCache;
+        this.cityProperties = cityProperties;
+        this.enabled = enabled;
+        this.daysBehind = daysBehind;
+        this.daysAhead = daysAhead;
+        this.hotDaysAhead = hotDaysAhead;
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                PrecomputeService::lowPriorityThread, null, false);
+
+        int windowEntries = cityProperties.cities().size() * (daysBehind + daysAhead + 1);
+        if (windowEntries > panchangamCache.maxEntries() / 2) {
+            log.warn("Precompute window needs {} cache entries, over half of api.cache.max-entries ({})",
+                    windowEntries, panchangamCache.maxEntries());
+        }
+    }
+
+    private static ForkJoinWorkerThread lowPriorityThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("precompute-" + thread.getPoolIndex());
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * The pool precompute work runs on, for other background fillers to share.
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Replace the set of hot locations kept cached. Takes effect on the next refresh.
+     */
+    public void setHotLocations(Set<LocationKey> locations) {
+        hotLocations = Set.copyOf(locations);
+    }
+
+    public Set<LocationKey> hotLocations() {
+        return hotLocations;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        if (enabled) {
+            pool.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Hands the nightly refresh to the precompute pool so the shared
+     * scheduler thread is not held for the whole window.
+     */
+    @Scheduled(cron = "${api.precompute.cron:0 0 1 * * *}")
+    public void refreshScheduled() {
+        if (enabled) {
+            pool.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Fill the missing days of the current window. Returns at once if a
+     * refresh is already running.
+     *
+     * @return number of days computed
+     */
+    public int refresh() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            List<Job> jobs = window();
+            total.set(jobs.size());
+            done.set(0);
+            computed.set(0);
+            lastStarted = Instant.now();
+            long start = System.nanoTime();
+
+            pool.submit(() -> jobs.parallelStream().forEach(this::fill)).join();
+
+            lastDurationMillis = (System.nanoTime() - start) / 1_000_000;
+            lastFinished = Instant.now();
+            log.info("Precomputed {} of {} days for {} cities and {} hot locations in {} ms",
+                    computed.get(), jobs.size(), cityProperties.cities().size(), hotLocations.size(),
+                    lastDurationMillis);
+            return computed.get();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void fill(Job job) {
+        try {
+            LocationKey location = job.location();
+            if (panchangamService.precomputeDailyPanchangam(
+                    job.date(), location.latitude(), location.longitude(), location.timezone())) {
+                computed.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Precompute failed for {} {}: {}", job.location(), job.date(), e.getMessage());
+        } finally {
+            done.incrementAndGet();
+        }
+    }
+
+    private List<Job> window() {
+        List<Job> jobs = new ArrayList<>();
+        for (City city : cityProperties.cities()) {
+            addWindow(jobs, LocationKey.of(city.lat(), city.lng(), city.timezone()), daysAhead);
+        }
+        for (LocationKey location : hotLocations) {
+            addWindow(jobs, location, hotDaysAhead);
+        }
+        return jobs;
+    }
+
+    private void addWindow(List<Job> jobs, LocationKey location, int ahead) {
+        LocalDate today = LocalDate.now(ZoneId.of(location.timezone()));
+        for (int day = -daysBehind; day <= ahead; day++) {
+            jobs.add(new Job(location, today.plusDays(day)));
+        }
+    }
+
+    /**
+     * Progress of the current or last refresh, and how much of the window is
+     * cached right now, overall and by city.
+     */
+    public PrecomputeProgress progress() {
+        Map<String, Double> coverageByCity = new LinkedHashMap<>();
+        int cached = 0;
+        int windowSize = 0;
+        for (City city : cityProperties.cities()) {
+            int cityCached = cachedDays(LocationKey.of(city.lat(), city.lng(), city.timezone()), daysAhead);
+            int days = daysBehind + daysAhead + 1;
+            coverageByCity.put(city.slug(), (double) cityCached / days);
+            cached += cityCached;
+            windowSize += days;
+        }
+        Set<LocationKey> hot = hotLocations;
+        int hotCached = 0;
+        for (LocationKey location : hot) {
+            hotCached += cachedDays(location, hotDaysAhead);
+        }
+        int hotWindowSize = hot.size() * (daysBehind + hotDaysAhead + 1);
+        return new PrecomputeProgress(
+                running.get(), lastStarted, lastFinished, lastDurationMillis,
+                total.get(), done.get(), computed.get(),
+                windowSize == 0 ? 1.0 : (double) cached / windowSize,
+                coverageByCity,
+                hot.size(),
+                hotWindowSize == 0 ? 1.0 : (double) hotCached / hotWindowSize);
+    }
+
+    private int cachedDays(LocationKey location, int ahead) {
+        LocalDate today = LocalDate.now(ZoneId.of(location.timezone()));
+        int cached = 0;
+        for (int day = -daysBehind; day <= ahead; day++) {
+            if (panchangamCache.containsFull(today.plusDays(day), location)) {
+                cached++;
+            }
+        }
+        return cached;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private record Job(LocationKey location, LocalDate date) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.magizh.calendar.ratelimit;
+
+/**
+ * Storage for per-client rate limit budgets.
+ *
+ * The in-process {@link TokenBucketRateLimiter} limits each node on its own;
+ * {@link RedisLeaseRateLimitStore} shares one budget across all nodes.
+ * Selected with {@code api.ratelimit.store} ({@code memory} or {@code redis}).
+ */
+public interface RateLimitStore {
+
+    /**
+     * Prefix of client ids authenticated through the API key registry.
+     * Everything else (addresses, unknown keys) is anonymous.
+     */
+    String AUTHENTICATED_PREFIX = "key:";
+
+    /**
+     * Take {@code units} from the client's budget of {@code unitsPerMinute}.
+     *
+     * @return remaining units when granted, or the negated milliseconds until
+     *         the request could succeed when rejected (always &lt; 0)
+     */
+    long tryConsume(String clientId, long units, long unitsPerMinute);
+}
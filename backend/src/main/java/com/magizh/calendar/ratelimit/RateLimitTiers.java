@@ -0,0 +1,24 @@
+package com.magizh.calendar.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Per-minute budgets by rate limit tier ({@code api.ratelimit.tiers}).
+ * API keys name their tier; tiers not listed here get the default budget.
+ *
+ * @param tiers Compute units per minute by tier name
+ */
+@ConfigurationProperties(prefix = "api.ratelimit")
+public record RateLimitTiers(Map<String, Long> tiers) {
+
+    public RateLimitTiers {
+        tiers = tiers == null ? Map.of() : Map.copyOf(tiers);
+    }
+
+    public long unitsPerMinute(String tier, long defaultUnits) {
+        Long units = tier == null ? null : tiers.get(tier);
+        return units != null ? units : defaultUnits;
+    }
+}
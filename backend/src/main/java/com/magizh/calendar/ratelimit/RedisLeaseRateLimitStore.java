@@ -0,0 +1,250 @@
+package com.magizh.calendar.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide rate limiting through Redis, without a round trip per request.
+ *
+ * Each client has one counter per minute in Redis holding the units granted
+ * to all nodes in that minute. A node reserves units in batches (leases) by
+ * INCRBY and then serves requests from its local lease. When the lease runs
+ * low the next one is fetched in the background, so requests normally never
+ * wait on Redis. Unused lease units lapse with the minute. Nodes can therefore
+ * under-use the budget slightly, but together they never exceed it.
+ *
+ * If Redis cannot be reached, the node falls back to its in-process limiter
+ * and stops trying Redis for {@code api.ratelimit.redis.retry-after-ms}, so
+ * an outage does not add a connect timeout to every request. The first
+ * reservation after that period probes Redis again.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "api.ratelimit.store", havingValue = "redis")
+public class RedisLeaseRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLeaseRateLimitStore.class);
+
+    private static final long WINDOW_MS = 60_000L;
+    private static final String KEY_PREFIX = "magizh:rl:";
+
+    private final RespClient client;
+    private final TokenBucketRateLimiter fallback;
+    private final double leaseFraction;
+    private final LongSupplier clock;
+    private final long retryAfterMs;
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final ExecutorService refillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile long lastFailureLog;
+    // Redis is skipped until this time after a failure
+    private volatile long unavailableUntil;
+
+    @Autowired
+    public RedisLeaseRateLimitStore(
+            @Value("${api.ratelimit.redis.host:localhost}") String host,
+            @Value("${api.ratelimit.redis.port:6379}") int port,
+            @Value("${api.ratelimit.redis.timeout-ms:200}") int timeoutMs,
+            @Value("${api.ratelimit.redis.lease-fraction:0.1}") double leaseFraction,
+            @Value("${api.ratelimit.redis.retry-after-ms:5000}") long retryAfterMs,
+            TokenBucketRateLimiter fallback
+    ) {
+        this(new RespClient(host, port, timeoutMs), fallback, leaseFraction, retryAfterMs, System::currentTimeMillis);
+    }
+
+    RedisLeaseRateLimitStore(RespClient client, TokenBucketRateLimiter fallback,
+                             double leaseFraction, long retryAfterMs, LongSupplier clock) {
+        this.client = client;
+        this.fallback = fallback;
+        this.leaseFraction = leaseFraction;
+        this.retryAfterMs = retryAfterMs;
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryConsume(String clientId, long units, long unitsPerMinute) {
+        long now = clock.getAsLong();
+        long window = now / WINDOW_MS;
+        long cost = Math.min(units, unitsPerMinute);
+        long leaseSize = Math.max(cost, (long) Math.ceil(unitsPerMinute * leaseFraction));
+
+        Lease lease = leases.get(clientId);
+        if (lease == null) {
+            lease = leases.computeIfAbsent(clientId, k -> new Lease());
+        }
+
+        long left = lease.take(window, cost);
+        if (left < 0 && now < unavailableUntil) {
+            return fallback.tryConsume(clientId, units, unitsPerMinute);
+        }
+        if (left < 0) {
+            // Lease exhausted: reserve synchronously. Concurrent requests wait
+            // for one reservation (or an in-flight prefetch) instead of each
+            // reserving their own.
+            lease.lock.lock();
+            try {
+                left = lease.take(window, cost);
+                if (left < 0) {
+                    if (lease.exhausted(window)) {
+                        return -Math.max(1, WINDOW_MS - now % WINDOW_MS);
+                    }
+                    if (clock.getAsLong() < unavailableUntil) {
+                        // Failed while this request waited for the lock
+                        return fallback.tryConsume(clientId, units, unitsPerMinute);
+                    }
+                    acquire(clientId, lease, window, leaseSize, unitsPerMinute);
+                    left = lease.take(window, cost);
+                }
+            } catch (IOException e) {
+                return fallback(clientId, units, unitsPerMinute, e);
+            } finally {
+                lease.lock.unlock();
+            }
+            if (left < 0) {
+                return -Math.max(1, WINDOW_MS - now % WINDOW_MS);
+            }
+        }
+
+        // Prefetch the next lease while this one still has a quarter left
+        if (left < leaseSize / 4 && lease.clusterRemaining > 0 && now >= unavailableUntil
+                && lease.refilling.compareAndSet(false, true)) {
+            Lease current = lease;
+            refillExecutor.execute(() -> {
+                current.lock.lock();
+                try {
+                    // A request may have refilled the lease while this task was queued
+                    if (current.available(window) < leaseSize / 4) {
+                        acquire(clientId, current, window, leaseSize, unitsPerMinute);
+                    }
+                } catch (IOException e) {
+                    logFailure(e);
+                } finally {
+                    current.refilling.set(false);
+                    current.lock.unlock();
+                }
+            });
+        }
+        return left + lease.clusterRemaining;
+    }
+
+    private void acquire(String clientId, Lease lease, long window, long want, long unitsPerMinute) throws IOException {
+        String key = KEY_PREFIX + clientId + ":" + window;
+        Object[] replies = client.execute(
+                new String[]{"INCRBY", key, Long.toString(want)},
+                new String[]{"PEXPIRE", key, Long.toString(2 * WINDOW_MS)});
+
+        long total = (Long) replies[0];
+        long granted = Math.max(0, Math.min(want, unitsPerMinute - (total - want)));
+        lease.clusterRemaining = Math.max(0, unitsPerMinute - total);
+        lease.add(window, granted);
+        if (lease.clusterRemaining == 0) {
+            lease.exhaustedWindow = window;
+        }
+    }
+
+    private long fallback(String clientId, long units, long unitsPerMinute, IOException e) {
+        logFailure(e);
+        return fallback.tryConsume(clientId, units, unitsPerMinute);
+    }
+
+    private void logFailure(IOException e) {
+        long now = clock.getAsLong();
+        unavailableUntil = now + retryAfterMs;
+        if (now - lastFailureLog > WINDOW_MS) {
+            lastFailureLog = now;
+            log.warn("Redis rate limit store unavailable, using in-process limits: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop leases from past windows; their units have lapsed anyway.
+     */
+    @Scheduled(fixedDelayString = "${api.ratelimit.sweep-interval-ms:30000}")
+    public void evictExpired() {
+        long window = clock.getAsLong() / WINDOW_MS;
+        leases.values().removeIf(lease -> lease.window() < window && !lease.refilling.get());
+    }
+
+    int trackedClients() {
+        return leases.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        client.close();
+    }
+
+    /**
+     * Units reserved by this node for one client, valid for one window.
+     * Window (upper 28 bits) and units (lower 36 bits) share one AtomicLong
+     * so a window change and a take cannot interleave.
+     */
+    static final class Lease {
+        private static final long UNITS_MASK = (1L << 36) - 1;
+
+        private final AtomicLong state = new AtomicLong();
+        final AtomicBoolean refilling = new AtomicBoolean();
+        // Serializes reservations so concurrent requests don't each reserve a lease
+        final ReentrantLock lock = new ReentrantLock();
+        volatile long clusterRemaining;
+        // Window in which the cluster budget ran out; no point asking Redis again
+        volatile long exhaustedWindow = -1;
+
+        boolean exhausted(long window) {
+            return exhaustedWindow == window;
+        }
+
+        long available(long window) {
+            long current = state.get();
+            return (current >>> 36) == (window & 0xFFF_FFFFL) ? current & UNITS_MASK : 0;
+        }
+
+        long take(long window, long units) {
+            while (true) {
+                long current = state.get();
+                long available = current & UNITS_MASK;
+                if ((current >>> 36) != (window & 0xFFF_FFFFL) || available < units) {
+                    return -1;
+                }
+                if (state.compareAndSet(current, pack(window, available - units))) {
+                    return available - units;
+                }
+            }
+        }
+
+        void add(long window, long units) {
+            while (true) {
+                long current = state.get();
+                long available = (current >>> 36) == (window & 0xFFF_FFFFL) ? current & UNITS_MASK : 0;
+                if (state.compareAndSet(current, pack(window, available + units))) {
+                    return;
+                }
+            }
+        }
+
+        long window() {
+            return state.get() >>> 36;
+        }
+
+        private static long pack(long window, long units) {
+            return ((window & 0xFFF_FFFFL) << 36) | (units & UNITS_MASK);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.magizh.calendar.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.Function;
+
+/**
+ * Prices a request in compute units for rate limiting.
+ *
+ * One unit is roughly one full daily panchangam. Each route has a weight
+ * per computed day, and range-type routes multiply it by the number of days
+ * the request parameters cover, so a year export is charged like the
+ * year of sweeps it triggers. Costs are rounded up and are at least 1.
+ */
+@Component
+public class RequestCostCalculator {
+
+    private static final String API = "/api/panchangam";
+
+    private final double dailyWeight;
+    private final double monthDayWeight;
+    private final double calendarDayWeight;
+    private final double bundleWeight;
+    private final double defaultWeight;
+
+    public RequestCostCalculator(
+            @Value("${api.ratelimit.cost.daily:1}") double dailyWeight,
+            @Value("${api.ratelimit.cost.month-day:0.2}") double monthDayWeight,
+            @Value("${api.ratelimit.cost.calendar-day:0.1}") double calendarDayWeight,
+            @Value("${api.ratelimit.cost.bundle:5}") double bundleWeight,
+            @Value("${api.ratelimit.cost.default:1}") double defaultWeight
+    ) {
+        this.dailyWeight = dailyWeight;
+        this.monthDayWeight = monthDayWeight;
+        this.calendarDayWeight = calendarDayWeight;
+        this.bundleWeight = bundleWeight;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public long costOf(HttpServletRequest request) {
+        return costOf(request.getRequestURI(), request::getParameter);
+    }
+
+    /**
+     * @param path       Request path
+     * @param parameters Lookup of query parameters (null when absent)
+     * @return cost in compute units, at least 1
+     */
+    public long costOf(String path, Function<String, String> parameters) {
+        double cost;
+        if (path.startsWith(API + "/daily")) {
+            cost = dailyWeight;
+        } else if (path.startsWith(API + "/weekly")) {
+            cost = dailyWeight * 7;
+        } else if (path.startsWith(API + "/month")) {
+            cost = monthDayWeight * gridDays(parameters.apply("month"));
+        } else if (path.startsWith(API + "/calendar/")) {
+            cost = calendarDayWeight * feedDays(path);
+        } else if (path.startsWith(API + "/bundles/")) {
+            cost = bundleWeight;
+        } else {
+            cost = defaultWeight;
+        }
+        return Math.max(1, (long) Math.ceil(cost));
+    }
+
+    private int gridDays(String month) {
+        try {
+            YearMonth yearMonth = YearMonth.parse(month);
+            LocalDate start = yearMonth.atDay(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+            LocalDate end = yearMonth.atEndOfMonth().with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+            return (int) ChronoUnit.DAYS.between(start, end) + 1;
+        } catch (DateTimeParseException | NullPointerException e) {
+            return 42; // Largest grid; the request will be rejected by validation anyway
+        }
+    }
+
+    private int feedDays(String path) {
+        String file = path.substring(path.lastIndexOf('/') + 1);
+        if (file.equals("feed.ics")) {
+            // Subscription covers the current and the next year
+            Year year = Year.now(ZoneOffset.UTC);
+            return year.length() + year.plusYears(1).length();
+        }
+        try {
+            return Year.of(Integer.parseInt(file.substring(0, file.indexOf('.')))).length();
+        } catch (RuntimeException e) {
+            return 366;
+        }
+    }
+}
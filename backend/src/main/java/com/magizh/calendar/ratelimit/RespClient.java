@@ -0,0 +1,169 @@
+package com.magizh.calendar.ratelimit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Minimal Redis protocol (RESP2) client: one connection, pipelined commands.
+ *
+ * Only used for rate limit leases, which are infrequent, so a single
+ * connection guarded by a lock is enough. A failed connection is dropped
+ * and re-established on the next call. The lock is a ReentrantLock rather
+ * than synchronized so virtual threads blocked on the socket don't pin
+ * their carrier.
+ */
+public class RespClient implements Closeable {
+
+    private final String host;
+    private final int port;
+    private final int timeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Socket socket;
+    private InputStream in;
+    private OutputStream out;
+
+    public RespClient(String host, int port, int timeoutMs) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Send the commands in one write and read one reply per command.
+     * Replies are Long (integer), String (simple/bulk string, null for nil) or Object[] (array).
+     *
+     * @throws IOException on connection failure or an error reply
+     */
+    public Object[] execute(String[]... commands) throws IOException {
+        lock.lock();
+        try {
+            connect();
+            for (String[] command : commands) {
+                writeCommand(command);
+            }
+            out.flush();
+
+            Object[] replies = new Object[commands.length];
+            for (int i = 0; i < commands.length; i++) {
+                replies[i] = readReply();
+            }
+            return replies;
+        } catch (IOException e) {
+            disconnect();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            disconnect();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void disconnect() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing to recover
+            }
+            socket = null;
+        }
+    }
+
+    private void connect() throws IOException {
+        if (socket != null) {
+            return;
+        }
+        Socket s = new Socket();
+        s.setTcpNoDelay(true);
+        s.setSoTimeout(timeoutMs);
+        s.connect(new InetSocketAddress(host, port), timeoutMs);
+        socket = s;
+        in = new BufferedInputStream(s.getInputStream());
+        out = new BufferedOutputStream(s.getOutputStream());
+    }
+
+    private void writeCommand(String[] command) throws IOException {
+        writeLine("*" + command.length);
+        for (String arg : command) {
+            byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            writeLine("$" + bytes.length);
+            out.write(bytes);
+            out.write('\r');
+            out.write('\n');
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private Object readReply() throws IOException {
+        int type = in.read();
+        String line = readLine();
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                throw new IOException("Redis error: " + line);
+            case ':':
+                return Long.parseLong(line);
+            case '$': {
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] data = in.readNBytes(length);
+                readLine(); // trailing CRLF
+                return new String(data, StandardCharsets.UTF_8);
+            }
+            case '*': {
+                int count = Integer.parseInt(line);
+                if (count < 0) {
+                    return null;
+                }
+                Object[] items = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    items[i] = readReply();
+                }
+                return items;
+            }
+            case -1:
+                throw new EOFException("Connection closed by server");
+            default:
+                throw new IOException("Unexpected reply type: " + (char) type);
+        }
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException("Connection closed by server");
+            }
+            line.append((char) c);
+        }
+        in.read(); // '\n'
+        return line.toString();
+    }
+}
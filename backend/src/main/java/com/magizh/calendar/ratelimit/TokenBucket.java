@@ -0,0 +1,80 @@
+package com.magizh.calendar.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket whose whole state lives in a single {@link AtomicLong}:
+ * the upper 32 bits hold the whole tokens left, the lower 32 bits the
+ * millisecond timestamp (modulo 2^32) up to which refill has been credited.
+ *
+ * Tokens refill continuously at {@code perMinute / 60000} per millisecond.
+ * Only the time that produced whole tokens is credited, so the remainder
+ * carries over to the next call and slow rates are not rounded away.
+ *
+ * Updates are a CAS loop with no locks and no allocation. The timestamp
+ * wraps after ~49 days, far beyond the idle eviction horizon.
+ */
+final class TokenBucket {
+
+    private static final long TIME_MASK = 0xFFFF_FFFFL;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final AtomicLong state;
+
+    TokenBucket(long capacity, long nowMs) {
+        this.state = new AtomicLong(pack(capacity, nowMs));
+    }
+
+    /**
+     * Try to take {@code units} tokens.
+     *
+     * @param units     Tokens to take, at most {@code capacity}
+     * @param capacity  Bucket size
+     * @param perMinute Refill rate
+     * @param nowMs     Current time in milliseconds
+     * @return remaining tokens when granted, or the negated milliseconds until
+     *         enough tokens will be available when rejected (always &lt; 0)
+     */
+    long tryConsume(long units, long capacity, long perMinute, long nowMs) {
+        while (true) {
+            long current = state.get();
+            long tokens = current >>> 32;
+            long stamp = current & TIME_MASK;
+
+            long elapsed = (nowMs - stamp) & TIME_MASK;
+            long refill = elapsed * perMinute / MILLIS_PER_MINUTE;
+            long creditedTo;
+            if (tokens + refill >= capacity) {
+                tokens = capacity;
+                creditedTo = nowMs;
+            } else {
+                tokens += refill;
+                creditedTo = stamp + refill * MILLIS_PER_MINUTE / perMinute;
+            }
+
+            if (tokens < units) {
+                long carried = (nowMs - creditedTo) & TIME_MASK;
+                long waitMs = ((units - tokens) * MILLIS_PER_MINUTE + perMinute - 1) / perMinute - carried;
+                return -Math.max(1, waitMs);
+            }
+
+            long remaining = tokens - units;
+            if (state.compareAndSet(current, pack(remaining, creditedTo))) {
+                return remaining;
+            }
+        }
+    }
+
+    /**
+     * True when nothing has been taken for at least {@code idleMs}. A bucket idle
+     * for a full refill period is indistinguishable from a new one and can be dropped.
+     */
+    boolean isIdle(long nowMs, long idleMs) {
+        long stamp = state.get() & TIME_MASK;
+        return ((nowMs - stamp) & TIME_MASK) >= idleMs;
+    }
+
+    private static long pack(long tokens, long stampMs) {
+        return (tokens << 32) | (stampMs & TIME_MASK);
+    }
+}
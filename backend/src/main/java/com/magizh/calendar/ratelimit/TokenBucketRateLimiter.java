@@ -0,0 +1,133 @@
+package com.magizh.calendar.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory per-client token buckets.
+ *
+ * Memory is bounded two ways: a sweeper drops buckets that have been idle for
+ * a full refill period (they would be full again, so nothing is lost), and at
+ * most {@code api.ratelimit.max-clients} anonymous buckets are tracked.
+ * Anonymous clients arriving while the table is full share one overflow
+ * bucket, so an address scan throttles itself instead of growing the heap.
+ * Clients authenticated through the key registry ({@code key:} ids) are
+ * bounded by the registry, so they are kept apart and never overflow: a
+ * flood of spoofed addresses cannot starve them.
+ *
+ * The lookup and consume path allocates nothing once a client's bucket exists.
+ */
+@Component
+public class TokenBucketRateLimiter implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+    // A bucket untouched for this long has refilled completely
+    private static final long IDLE_MS = 60_000L;
+    private static final long MAX_TOKENS = 0xFFFF_FFFFL;
+
+    private final int maxClients;
+    private final long overflowPerMinute;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> keyBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder overflowRequests = new LongAdder();
+
+    @Autowired
+    public TokenBucketRateLimiter(
+            @Value("${api.ratelimit.max-clients:100000}") int maxClients,
+            @Value("${api.ratelimit.overflow-requests-per-minute:600}") long overflowPerMinute,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxClients = maxClients;
+        this.overflowPerMinute = overflowPerMinute;
+        this.overflow = new TokenBucket(overflowPerMinute, 0);
+
+        Gauge.builder("ratelimit.clients.tracked", this, TokenBucketRateLimiter::trackedClients)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("ratelimit.overflow.requests", this, TokenBucketRateLimiter::overflowRequests)
+                .description("Requests from untracked clients charged to the shared overflow bucket")
+                .register(meterRegistry);
+    }
+
+    TokenBucketRateLimiter(int maxClients, long overflowPerMinute) {
+        this(maxClients, overflowPerMinute, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Take {@code units} from the client's bucket, which holds one minute's worth.
+     */
+    @Override
+    public long tryConsume(String clientId, long units, long perMinute) {
+        return tryConsume(clientId, units, perMinute, nowMs());
+    }
+
+    long tryConsume(String clientId, long units, long perMinute, long nowMs) {
+        long capacity = Math.min(Math.max(perMinute, 1), MAX_TOKENS);
+        long cost = Math.min(units, capacity);
+
+        if (clientId.startsWith(RateLimitStore.AUTHENTICATED_PREFIX)) {
+            return keyBuckets.computeIfAbsent(clientId, k -> new TokenBucket(capacity, nowMs))
+                    .tryConsume(cost, capacity, capacity, nowMs);
+        }
+
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                overflowRequests.increment();
+                return overflow.tryConsume(Math.min(units, overflowPerMinute),
+                        overflowPerMinute, overflowPerMinute, nowMs);
+            }
+            bucket = buckets.computeIfAbsent(clientId, k -> new TokenBucket(capacity, nowMs));
+        }
+        return bucket.tryConsume(cost, capacity, capacity, nowMs);
+    }
+
+    /**
+     * Drop buckets that have fully refilled. A request racing with removal
+     * may lose its debit; the client then simply starts from a full bucket.
+     */
+    @Scheduled(fixedDelayString = "${api.ratelimit.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        evictIdle(nowMs());
+    }
+
+    void evictIdle(long nowMs) {
+        int before = trackedClients();
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowMs, IDLE_MS));
+        keyBuckets.values().removeIf(bucket -> bucket.isIdle(nowMs, IDLE_MS));
+        int evicted = before - trackedClients();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} tracked", evicted, trackedClients());
+        }
+    }
+
+    /**
+     * Buckets held, anonymous and authenticated.
+     */
+    public int trackedClients() {
+        return buckets.size() + keyBuckets.size();
+    }
+
+    public long overflowRequests() {
+        return overflowRequests.sum();
+    }
+
+    private long nowMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+}
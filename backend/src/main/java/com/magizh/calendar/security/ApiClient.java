@@ -0,0 +1,18 @@
+package com.magizh.calendar.security;
+
+/**
+ * An authenticated API client, resolved from its key by {@link ApiKeyRegistry}.
+ *
+ * @param id   Stable client identifier (e.g., "ios", "acme-partner"); used for rate limiting and logs
+ * @param role Spring Security role (e.g., "ROLE_PARTNER")
+ * @param tier Rate limit tier name (see {@code api.ratelimit.tiers})
+ */
+public record ApiClient(String id, String role, String tier) {
+
+    public static final String DEFAULT_TIER = "standard";
+
+    /**
+     * Request attribute holding the authenticated client.
+     */
+    public static final String REQUEST_ATTRIBUTE = ApiClient.class.getName();
+}
@@ -0,0 +1,146 @@
+package com.magizh.calendar.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All valid API keys, indexed by SHA-256 hash for constant-time lookup.
+ *
+ * Keys come from two places:
+ * - The built-in ios/web/dev keys ({@code api.security.keys.*}), hashed on load
+ * - An optional keys file ({@code api.security.keys-file}) for partner keys,
+ *   one client per line, holding only key hashes:
+ *   <pre>
+ *   # sha256(key)   client-id   role           [tier]
+ *   9f86d08...      acme        ROLE_PARTNER   partner
+ *   </pre>
+ *
+ * The file is polled for changes and reloaded without a restart. Lookups read
+ * an immutable snapshot that a reload swaps in whole, so they never block.
+ * A file that fails to parse is rejected and the previous keys stay active.
+ */
+@Component
+public class ApiKeyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyRegistry.class);
+
+    private final Map<String, ApiClient> builtInClients;
+    private final Path keysFile;
+
+    private volatile Map<String, ApiClient> clients;
+    private FileTime loadedModified;
+
+    public ApiKeyRegistry(
+            @Value("${api.security.keys.ios:}") String iosApiKey,
+            @Value("${api.security.keys.web:}") String webApiKey,
+            @Value("${api.security.keys.dev:}") String devApiKey,
+            @Value("${api.security.keys-file:}") String keysFile
+    ) {
+        Map<String, ApiClient> builtIn = new HashMap<>();
+        addBuiltIn(builtIn, iosApiKey, new ApiClient("ios", "ROLE_IOS_CLIENT", ApiClient.DEFAULT_TIER));
+        addBuiltIn(builtIn, webApiKey, new ApiClient("web", "ROLE_WEB_CLIENT", ApiClient.DEFAULT_TIER));
+        addBuiltIn(builtIn, devApiKey, new ApiClient("dev", "ROLE_DEV", ApiClient.DEFAULT_TIER));
+        this.builtInClients = Map.copyOf(builtIn);
+        this.clients = builtInClients;
+        this.keysFile = keysFile == null || keysFile.isBlank() ? null : Path.of(keysFile);
+        reloadIfChanged();
+    }
+
+    /**
+     * @return the client owning this key, or null if the key is unknown
+     */
+    public ApiClient lookup(String apiKey) {
+        return clients.get(hash(apiKey));
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Reload the keys file if it changed since the last load.
+     *
+     * @return true if a new set of keys was loaded
+     */
+    @Scheduled(fixedDelayString = "${api.security.keys-reload-interval-ms:10000}")
+    public synchronized boolean reloadIfChanged() {
+        if (keysFile == null) {
+            return false;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(keysFile);
+            if (modified.equals(loadedModified)) {
+                return false;
+            }
+            Map<String, ApiClient> loaded = new HashMap<>(builtInClients);
+            loaded.putAll(parse(Files.readAllLines(keysFile, StandardCharsets.UTF_8)));
+            clients = Map.copyOf(loaded);
+            loadedModified = modified;
+            log.info("Loaded {} API keys from {}", loaded.size() - builtInClients.size(), keysFile);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Could not load API keys from {}, keeping {} current keys: {}",
+                    keysFile, clients.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    static Map<String, ApiClient> parse(List<String> lines) {
+        Map<String, ApiClient> parsed = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length < 3 || fields.length > 4) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected hash, client id, role and optional tier");
+            }
+            String keyHash = fields[0].toLowerCase();
+            if (keyHash.length() != 64 || !keyHash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": key hash must be 64 hex characters");
+            }
+            if (!fields[2].startsWith("ROLE_")) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": role must start with ROLE_");
+            }
+            String tier = fields.length == 4 ? fields[3] : ApiClient.DEFAULT_TIER;
+            if (parsed.put(keyHash, new ApiClient(fields[1], fields[2], tier)) != null) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": duplicate key hash");
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Hex SHA-256 of a key, as stored in the keys file.
+     */
+    public static String hash(String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void addBuiltIn(Map<String, ApiClient> clients, String apiKey, ApiClient client) {
+        if (apiKey != null && !apiKey.isBlank()) {
+            clients.put(hash(apiKey), client);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.magizh.calendar.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable character trie answering "does the path start with any of these prefixes?".
+ *
+ * Built once; a lookup walks at most the length of the longest prefix,
+ * independent of how many prefixes there are, and allocates nothing.
+ */
+public final class PathPrefixTrie {
+
+    private final Node root = new Node();
+
+    public PathPrefixTrie(Collection<String> prefixes) {
+        for (String prefix : prefixes) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    public boolean matches(String path) {
+        Node node = root;
+        for (int i = 0; ; i++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (i == path.length()) {
+                return false;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Node {
+        // Fan-out is tiny for URL prefixes, so parallel arrays beat a map
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
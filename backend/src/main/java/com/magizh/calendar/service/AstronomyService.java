@@ -1,5 +1,11 @@
 package com.magizh.calendar.service;
 
+import com.magizh.calendar.observability.EphemerisCallEvent;
+import com.magizh.calendar.observability.RequestStats;
+import com.magizh.calendar.observability.SolverRunEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import de.thmac.swisseph.DblObj;
 import de.thmac.swisseph.SweConst;
@@ -14,12 +20,59 @@ import java.time.*;
  * Provides Sun/Moon positions and sunrise/sunset times.
  *
  * Moshier mode provides ~0.1 arcsecond accuracy without external data files.
+ *
+ * Ephemeris invocations are counted in {@code ephemeris.calls} (tag {@code function}),
+ * rise/set failures that fall back to 6:00/18:00 in {@code ephemeris.riseset.fallback},
+ * and root-finder iterations in the {@code panchangam.solver.iterations} histogram.
+ * Both are also emitted as JFR events (EphemerisCallEvent, SolverRunEvent).
  */
 @Service
 public class AstronomyService {
 
+    /**
+     * Swiss Ephemeris sidereal mode (Lahiri). Persisted results record it, so
+     * changing it invalidates them.
+     */
+    public static final int AYANAMSHA = SweConst.SE_SIDM_LAHIRI;
+
+    // Iteration histogram buckets; bisecting 24-48 h down to a minute takes 10-11
+    static final double[] ITERATION_BUCKETS = {4, 8, 12, 16, 24, 32, 48, 64, 96};
+
     private SwissEph swissEph;
 
+    private final Counter calcCalls;
+    private final Counter riseTransCalls;
+    private final Counter riseSetFallbacks;
+    private final DistributionSummary moonLongitudeIterations;
+    private final DistributionSummary moonSunAngleIterations;
+
+    public AstronomyService(MeterRegistry meterRegistry) {
+        this.calcCalls = Counter.builder("ephemeris.calls")
+                .tag("function", "swe_calc_ut")
+                .description("Swiss Ephemeris planet position calculations")
+                .register(meterRegistry);
+        this.riseTransCalls = Counter.builder("ephemeris.calls")
+                .tag("function", "swe_rise_trans")
+                .description("Swiss Ephemeris rise/set calculations")
+                .register(meterRegistry);
+        this.riseSetFallbacks = Counter.builder("ephemeris.riseset.fallback")
+                .description("Rise/set calculations that failed and used the 6:00/18:00 estimate")
+                .register(meterRegistry);
+        this.moonLongitudeIterations = solverIterations(meterRegistry, "moon_longitude");
+        this.moonSunAngleIterations = solverIterations(meterRegistry, "moon_sun_angle");
+    }
+
+    /**
+     * Histogram of iterations per root-finder run, tagged by solver.
+     */
+    static DistributionSummary solverIterations(MeterRegistry meterRegistry, String solver) {
+        return DistributionSummary.builder("panchangam.solver.iterations")
+                .tag("solver", solver)
+                .description("Iterations per root-finding run")
+                .serviceLevelObjectives(ITERATION_BUCKETS)
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         // Initialize Swiss Ephemeris without path - uses Moshier mode automatically
@@ -29,7 +82,7 @@ public class AstronomyService {
 
         // CRITICAL: Set sidereal mode with Lahiri Ayanamsha for Tamil Panchangam
         // This shifts calculations from tropical (Western) to sidereal (Indian) zodiac
-        swissEph.swe_set_sid_mode(SweConst.SE_SIDM_LAHIRI, 0, 0);
+        swissEph.swe_set_sid_mode(AYANAMSHA, 0, 0);
     }
 
     /**
@@ -88,6 +141,9 @@ public class AstronomyService {
      * @return Time when Moon reaches target longitude, or null if not found
      */
     public ZonedDateTime findMoonAtLongitude(ZonedDateTime startTime, double targetLongitude, int maxHours) {
+        SolverRunEvent event = new SolverRunEvent();
+        event.begin();
+
         // Binary search to find when Moon reaches target longitude
         ZonedDateTime left = startTime;
         ZonedDateTime right = startTime.plusHours(maxHours);
@@ -100,11 +156,14 @@ public class AstronomyService {
 
         // Check if target is between left and right (accounting for wrap-around)
         if (!isAngleBetween(targetLongitude, leftLong, rightLong)) {
+            event.complete("moon_longitude", targetLongitude, 0, maxHours * 3_600_000L, false);
             return null;
         }
 
         // Binary search for precision (within 1 minute)
+        int iterations = 0;
         while (Duration.between(left, right).toMinutes() > 1) {
+            iterations++;
             ZonedDateTime mid = left.plus(Duration.between(left, right).dividedBy(2));
             double midLong = getMoonLongitude(mid);
 
@@ -116,6 +175,8 @@ public class AstronomyService {
                 leftLong = midLong;
             }
         }
+        moonLongitudeIterations.record(iterations);
+        event.complete("moon_longitude", targetLongitude, iterations, maxHours * 3_600_000L, true);
 
         return left;
     }
@@ -130,13 +191,18 @@ public class AstronomyService {
      * @return Time when angle is reached, or null if not found
      */
     public ZonedDateTime findMoonSunAngle(ZonedDateTime startTime, double targetAngle, int maxHours) {
+        SolverRunEvent event = new SolverRunEvent();
+        event.begin();
+
         ZonedDateTime left = startTime;
         ZonedDateTime right = startTime.plusHours(maxHours);
 
         targetAngle = normalizeAngle(targetAngle);
 
         // Binary search for precision
+        int iterations = 0;
         while (Duration.between(left, right).toMinutes() > 1) {
+            iterations++;
             ZonedDateTime mid = left.plus(Duration.between(left, right).dividedBy(2));
             double midAngle = getMoonSunAngle(mid);
             double leftAngle = getMoonSunAngle(left);
@@ -147,6 +213,8 @@ public class AstronomyService {
                 left = mid;
             }
         }
+        moonSunAngleIterations.record(iterations);
+        event.complete("moon_sun_angle", targetAngle, iterations, maxHours * 3_600_000L, true);
 
         return left;
     }
@@ -182,13 +250,20 @@ public class AstronomyService {
         // Use SIDEREAL flag with Lahiri Ayanamsha (set in init())
         int flags = SweConst.SEFLG_SWIEPH | SweConst.SEFLG_SPEED | SweConst.SEFLG_SIDEREAL;
 
+        EphemerisCallEvent event = new EphemerisCallEvent();
+        event.begin();
+        calcCalls.increment();
+        RequestStats.recordEphemerisCall();
         int retval = swissEph.swe_calc_ut(julianDay, planet, flags, result, errorBuffer);
 
         if (retval < 0) {
             // Fallback to Moshier if Swiss Ephemeris fails
             flags = SweConst.SEFLG_MOSEPH | SweConst.SEFLG_SPEED | SweConst.SEFLG_SIDEREAL;
+            calcCalls.increment();
+            RequestStats.recordEphemerisCall();
             swissEph.swe_calc_ut(julianDay, planet, flags, result, errorBuffer);
         }
+        commit(event, "swe_calc_ut", planet, julianDay, retval < 0);
 
         return result[0]; // Sidereal ecliptic longitude
     }
@@ -206,10 +281,16 @@ public class AstronomyService {
         int eventType = isSunrise ? SweConst.SE_CALC_RISE : SweConst.SE_CALC_SET;
         int flags = SweConst.SE_BIT_DISC_CENTER; // Use disc center
 
+        EphemerisCallEvent event = new EphemerisCallEvent();
+        event.begin();
+        riseTransCalls.increment();
+        RequestStats.recordEphemerisCall();
         int retval = swissEph.swe_rise_trans(julianDay, SweConst.SE_SUN, null,
                 SweConst.SEFLG_MOSEPH, eventType, geopos, 0, 0, result, errorBuffer);
+        commit(event, "swe_rise_trans", SweConst.SE_SUN, julianDay, retval < 0);
 
         if (retval < 0) {
+            riseSetFallbacks.increment();
             // Fallback: estimate based on typical times
             LocalTime time = isSunrise ? LocalTime.of(6, 0) : LocalTime.of(18, 0);
             return date.atTime(time).atZone(zoneId);
@@ -219,6 +300,17 @@ public class AstronomyService {
         return fromJulianDay(result.val, zoneId);
     }
 
+    private static void commit(EphemerisCallEvent event, String function, int body, double julianDay, boolean fallback) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.function = function;
+            event.body = body;
+            event.julianDay = julianDay;
+            event.fallback = fallback;
+            event.commit();
+        }
+    }
+
     private double toJulianDay(ZonedDateTime dateTime) {
         ZonedDateTime utc = dateTime.withZoneSameInstant(ZoneOffset.UTC);
 
@@ -0,0 +1,236 @@
+package com.magizh.calendar.service;
+
+import com.magizh.calendar.codec.PanchangamBinaryCodec;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.model.PanchangamResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates per-city, per-year bundles of every day's panchangam so the iOS
+ * app can download a year once instead of calling the API for each day.
+ *
+ * A bundle is a {@link PanchangamBinaryCodec} payload of the whole year, stored
+ * under {@code api.bundle.dir}/v{version}/{city}/{year}.bin. The version
+ * combines the calculation and encoding versions, so a bundle file never
+ * changes once written and can be served with a long cache lifetime.
+ *
+ * Generation runs as a fork-join batch: cities and the days within each
+ * city are split across one pool, so a few large cities cannot leave
+ * workers idle. The pool is shared by all batches.
+ *
+ * Only the years the index lists (this year and next) are generated on
+ * request; each costs a full year of computation. Other years are served
+ * only if their file already exists. A bundle is generated at most once at
+ * a time: concurrent requests for it, and the nightly job, wait for the
+ * generation already running.
+ */
+@Service
+public class BundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(BundleService.class);
+
+    public static final String VERSION =
+            PanchangamService.CALCULATION_VERSION + "." + PanchangamBinaryCodec.VERSION;
+
+    private final PanchangamService panchangamService;
+    private final CityProperties cityProperties;
+    private final Path versionDir;
+    private final ForkJoinPool pool;
+    private final boolean scheduleEnabled;
+    private final Map<Job, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public BundleService(
+            PanchangamService panchangamService,
+            CityProperties cityProperties,
+            @Value("${api.bundle.dir:bundles}") String dir,
+            @Value("${api.bundle.parallelism:0}") int parallelism,
+            @Value("${api.bundle.schedule-enabled:true}") boolean scheduleEnabled
+    ) {
+        this.panchangamService = panchangamService;
+        this.cityProperties = cityProperties;
+        this.versionDir = Path.of(dir, "v" + VERSION);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scheduleEnabled = scheduleEnabled;
+    }
+
+    /**
+     * Location of a bundle file, whether or not it has been generated.
+     */
+    public Path bundlePath(City city, int year) {
+        return versionDir.resolve(city.slug()).resolve(year + ".bin");
+    }
+
+    /**
+     * Years bundles are listed and generated for: this year and next (UTC).
+     */
+    public List<Integer> currentYears() {
+        int year = Year.now(ZoneOffset.UTC).getValue();
+        return List.of(year, year + 1);
+    }
+
+    /**
+     * Return the bundle for a city and year, generating it first if needed.
+     *
+     * @throws IllegalArgumentException if the bundle does not exist and the
+     *                                  year is not one of {@link #currentYears()}
+     */
+    public Path getOrGenerate(City city, int year) throws IOException {
+        Path path = bundlePath(city, year);
+        if (Files.exists(path)) {
+            return path;
+        }
+        if (!currentYears().contains(year)) {
+            throw new IllegalArgumentException("Bundles are only generated for " + currentYears());
+        }
+        return await(generation(new Job(city, year)));
+    }
+
+    /**
+     * Generate the missing bundles of all configured cities for the given years.
+     *
+     * @return paths of the bundles written
+     */
+    public List<Path> generateMissing(List<Integer> years) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        for (int year : years) {
+            for (City city : cityProperties.cities()) {
+                if (!Files.exists(bundlePath(city, year))) {
+                    jobs.add(new Job(city, year));
+                }
+            }
+        }
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Path>> generations = jobs.stream().map(this::generation).toList();
+        List<Path> written = new ArrayList<>();
+        for (CompletableFuture<Path> generation : generations) {
+            written.add(await(generation));
+        }
+        log.info("Generated {} panchangam bundles (v{}) in {} ms",
+                written.size(), VERSION, (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    /**
+     * Nightly job: make sure this year's and next year's bundles exist.
+     */
+    @Scheduled(cron = "${api.bundle.cron:0 30 2 * * *}")
+    public void generateScheduled() {
+        if (!scheduleEnabled) {
+            return;
+        }
+        try {
+            generateMissing(currentYears());
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Bundle generation failed", e);
+        }
+    }
+
+    /**
+     * The running generation of a bundle, started in the pool if there is none.
+     */
+    private CompletableFuture<Path> generation(Job job) {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(job, created);
+        if (running != null) {
+            return running;
+        }
+        pool.execute(() -> {
+            try {
+                Path path = bundlePath(job.city(), job.year());
+                // Another generation may have finished between the caller's check and ours
+                created.complete(Files.exists(path) ? path : generate(job.city(), job.year()));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(job, created);
+            }
+        });
+        return created;
+    }
+
+    private Path generate(City city, int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int days = Year.of(year).length();
+
+        // Nested parallel stream: days are forked into the same pool as the cities
+        List<PanchangamResponse> responses = IntStream.range(0, days)
+                .parallel()
+                .mapToObj(i -> panchangamService.computeDailyPanchangam(
+                        first.plusDays(i), city.lat(), city.lng(), city.timezone()))
+                .toList();
+
+        try {
+            return write(bundlePath(city, year), responses);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bundle for " + city.name() + " " + year, e);
+        }
+    }
+
+    private Path write(Path target, List<PanchangamResponse> responses) throws IOException {
+        Files.createDirectories(target.getParent());
+
+        // Write beside the target and move into place so readers never see a partial file
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                PanchangamBinaryCodec.write(responses, out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Wrote bundle {} ({} bytes)", target, Files.size(target));
+        return target;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static Path await(CompletableFuture<Path> generation) throws IOException {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private record Job(City city, int year) {
+    }
+}
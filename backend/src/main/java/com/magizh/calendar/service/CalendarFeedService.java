@@ -0,0 +1,173 @@
+package com.magizh.calendar.service;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.TimeRange;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Service that renders panchangam events as an iCalendar (RFC 5545) feed.
+ *
+ * Events per day:
+ * - Rahukaalam (timed event)
+ * - Ekadasi, Pournami and Amavasai (all-day events on the day the thithi prevails at sunrise)
+ * - Tamil month start (all-day event on the day the Sun's rasi at sunrise changes)
+ *
+ * The feed is produced in a single forward pass over the date range and each
+ * VEVENT is written to the output as soon as it is computed, so the document
+ * is never held in memory as a whole.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final String CRLF = "\r\n";
+
+    private static final DateTimeFormatter UTC_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final AstronomyService astronomyService;
+    private final ThithiCalculator thithiCalculator;
+    private final TimingsCalculator timingsCalculator;
+    private final TamilCalendarService tamilCalendarService;
+
+    public CalendarFeedService(
+            AstronomyService astronomyService,
+            ThithiCalculator thithiCalculator,
+            TimingsCalculator timingsCalculator,
+            TamilCalendarService tamilCalendarService
+    ) {
+        this.astronomyService = astronomyService;
+        this.thithiCalculator = thithiCalculator;
+        this.timingsCalculator = timingsCalculator;
+        this.tamilCalendarService = tamilCalendarService;
+    }
+
+    /**
+     * Write the feed for an inclusive date range.
+     *
+     * @param out      Destination stream (not closed)
+     * @param from     First date
+     * @param to       Last date (inclusive)
+     * @param lat      Latitude of the location
+     * @param lng      Longitude of the location
+     * @param timezone Timezone string (e.g., "Asia/Kolkata")
+     */
+    public void writeFeed(OutputStream out, LocalDate from, LocalDate to,
+                          double lat, double lng, String timezone) throws IOException {
+        ZoneId zoneId = ZoneId.of(timezone);
+        LocationKey location = LocationKey.of(lat, lng, timezone);
+        String uidSuffix = "-" + location.latE2() + "_" + location.lngE2() + "@magizh.com";
+
+        // Deterministic stamp so identical requests render identical bytes (ETag-friendly)
+        String dtStamp = UTC_TIME.format(from.atStartOfDay(ZoneOffset.UTC));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:-//Magizh Calendar//Panchangam " + PanchangamService.CALCULATION_VERSION + "//EN");
+        line(writer, "CALSCALE:GREGORIAN");
+        line(writer, "METHOD:PUBLISH");
+        line(writer, "X-WR-CALNAME:Panchangam");
+        line(writer, "X-WR-TIMEZONE:" + timezone);
+        line(writer, "REFRESH-INTERVAL;VALUE=DURATION:P1D");
+        line(writer, "X-PUBLISHED-TTL:P1D");
+
+        // Seed the rasi from the day before so a month starting on 'from' is reported
+        int previousRasi = rasiAtSunrise(from.minusDays(1), lat, lng, zoneId);
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            ZonedDateTime sunrise = astronomyService.calculateSunrise(date, lat, lng, zoneId);
+            ZonedDateTime sunset = astronomyService.calculateSunset(date, lat, lng, zoneId);
+
+            // Tamil month start
+            double sunLongitude = astronomyService.getSunLongitude(sunrise);
+            int rasi = (int) (sunLongitude / 30.0) % 12;
+            if (rasi != previousRasi) {
+                allDayEvent(writer, date, "tamil-month", dtStamp, uidSuffix,
+                        tamilCalendarService.getTamilMonthName(rasi) + " 1", null);
+            }
+            previousRasi = rasi;
+
+            // Ekadasi, Pournami, Amavasai
+            double moonSunAngle = normalizeAngle(astronomyService.getMoonLongitude(sunrise) - sunLongitude);
+            int thithiNumber = thithiCalculator.getThithiNumber(moonSunAngle);
+            if (thithiCalculator.isSpecialThithi(thithiNumber)) {
+                // End time search only runs on the few special days
+                Thithi thithi = thithiCalculator.calculate(sunrise);
+                String summary = thithiNumber == 11 || thithiNumber == 26
+                        ? thithi.paksha().getDisplayName() + " " + thithi.name()
+                        : thithi.name();
+                allDayEvent(writer, date, "thithi", dtStamp, uidSuffix, summary,
+                        "Until " + LOCAL_TIME.format(thithi.endTime().withZoneSameInstant(zoneId)));
+            }
+
+            // Rahukaalam
+            TimeRange rahukaalam = timingsCalculator.calculateRahukaalam(sunrise, sunset, date.getDayOfWeek());
+            line(writer, "BEGIN:VEVENT");
+            line(writer, "UID:" + DATE.format(date) + "-rahukaalam" + uidSuffix);
+            line(writer, "DTSTAMP:" + dtStamp);
+            line(writer, "DTSTART:" + UTC_TIME.format(rahukaalam.startTime()));
+            line(writer, "DTEND:" + UTC_TIME.format(rahukaalam.endTime()));
+            line(writer, "SUMMARY:Rahukaalam");
+            line(writer, "CATEGORIES:Rahukaalam");
+            line(writer, "TRANSP:TRANSPARENT");
+            line(writer, "END:VEVENT");
+
+            // Hand each finished month to the client instead of waiting for the year
+            if (date.getDayOfMonth() == date.lengthOfMonth()) {
+                writer.flush();
+            }
+        }
+
+        line(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void allDayEvent(Writer writer, LocalDate date, String kind, String dtStamp, String uidSuffix,
+                             String summary, String description) throws IOException {
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:" + DATE.format(date) + "-" + kind + uidSuffix);
+        line(writer, "DTSTAMP:" + dtStamp);
+        line(writer, "DTSTART;VALUE=DATE:" + DATE.format(date));
+        line(writer, "DTEND;VALUE=DATE:" + DATE.format(date.plusDays(1)));
+        line(writer, "SUMMARY:" + summary);
+        if (description != null) {
+            line(writer, "DESCRIPTION:" + description);
+        }
+        line(writer, "TRANSP:TRANSPARENT");
+        line(writer, "END:VEVENT");
+    }
+
+    private int rasiAtSunrise(LocalDate date, double lat, double lng, ZoneId zoneId) {
+        ZonedDateTime sunrise = astronomyService.calculateSunrise(date, lat, lng, zoneId);
+        return (int) (astronomyService.getSunLongitude(sunrise) / 30.0) % 12;
+    }
+
+    private void line(Writer writer, String content) throws IOException {
+        // All content lines are ASCII and well under the 75-octet folding limit
+        writer.write(content);
+        writer.write(CRLF);
+    }
+
+    private double normalizeAngle(double angle) {
+        angle = angle % 360;
+        if (angle < 0) {
+            angle += 360;
+        }
+        return angle;
+    }
+}
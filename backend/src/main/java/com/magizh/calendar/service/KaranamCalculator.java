@@ -4,6 +4,8 @@ import com.magizh.calendar.model.Karanam;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Calculator for Karanam.
@@ -30,6 +32,9 @@ public class KaranamCalculator {
         "Sakuni", "Chatushpada", "Naga", "Kimstughna"
     };
 
+    private static final List<String> KARANAM_LIST =
+            Stream.concat(Stream.of(RECURRING_KARANAMS), Stream.of(FIXED_KARANAMS)).toList();
+
     private final AstronomyService astronomyService;
 
     public KaranamCalculator(AstronomyService astronomyService) {
@@ -91,6 +96,13 @@ public class KaranamCalculator {
         return "Vishti".equals(name);
     }
 
+    /**
+     * The 11 distinct karanam names: the 7 recurring ones followed by the 4 fixed ones.
+     */
+    public static List<String> karanamNames() {
+        return KARANAM_LIST;
+    }
+
     private ZonedDateTime findKaranamEndTime(ZonedDateTime startTime, double targetAngle) {
         // Search up to 24 hours (karanams last ~12 hours on average)
         ZonedDateTime endTime = astronomyService.findMoonSunAngle(startTime, targetAngle, 24);
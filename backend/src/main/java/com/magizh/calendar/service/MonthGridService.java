@@ -0,0 +1,111 @@
+package com.magizh.calendar.service;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.MonthGridResponse;
+import com.magizh.calendar.model.TamilDate;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the compact month grid used by calendar views.
+ *
+ * A grid cell only needs the names of the angams in force at sunrise, so the
+ * sweep fetches one Sun and one Moon longitude per day and derives everything
+ * from those two values. None of the end-time searches, Yogam/Karanam scans,
+ * or TimingsCalculator/GowriCalculator work done for a full panchangam runs here.
+ */
+@Service
+public class MonthGridService {
+
+    private final AstronomyService astronomyService;
+    private final NakshatramCalculator nakshatramCalculator;
+    private final ThithiCalculator thithiCalculator;
+    private final TamilCalendarService tamilCalendarService;
+
+    public MonthGridService(
+            AstronomyService astronomyService,
+            NakshatramCalculator nakshatramCalculator,
+            ThithiCalculator thithiCalculator,
+            TamilCalendarService tamilCalendarService
+    ) {
+        this.astronomyService = astronomyService;
+        this.nakshatramCalculator = nakshatramCalculator;
+        this.thithiCalculator = thithiCalculator;
+        this.tamilCalendarService = tamilCalendarService;
+    }
+
+    /**
+     * Get the month grid for a month and location.
+     * The grid runs from the Sunday on or before the 1st to the Saturday on or
+     * after the last day, so it always holds whole weeks.
+     *
+     * @param month    The Gregorian month
+     * @param lat      Latitude of the location
+     * @param lng      Longitude of the location
+     * @param timezone Timezone string (e.g., "Asia/Kolkata")
+     * @return MonthGridResponse with one column per field
+     */
+    public MonthGridResponse getMonthGrid(YearMonth month, double lat, double lng, String timezone) {
+        ZoneId zoneId = ZoneId.of(timezone);
+
+        LocalDate startDate = month.atDay(1)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        LocalDate endDate = month.atEndOfMonth()
+                .with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        List<String> tamilMonths = new ArrayList<>(days);
+        List<Integer> tamilDays = new ArrayList<>(days);
+        List<String> thithis = new ArrayList<>(days);
+        List<String> nakshatrams = new ArrayList<>(days);
+        List<FoodStatus.FoodType> foodStatuses = new ArrayList<>(days);
+
+        for (int i = 0; i < days; i++) {
+            LocalDate date = startDate.plusDays(i);
+
+            // Angams are taken at sunrise, same as the daily panchangam
+            ZonedDateTime sunrise = astronomyService.calculateSunrise(date, lat, lng, zoneId);
+            double sunLongitude = astronomyService.getSunLongitude(sunrise);
+            double moonLongitude = astronomyService.getMoonLongitude(sunrise);
+            double moonSunAngle = normalizeAngle(moonLongitude - sunLongitude);
+
+            TamilDate tamilDate = tamilCalendarService.calculate(date, sunLongitude);
+            int thithiNumber = thithiCalculator.getThithiNumber(moonSunAngle);
+            String thithi = thithiCalculator.getThithiName(thithiNumber);
+
+            tamilMonths.add(tamilDate.month());
+            tamilDays.add(tamilDate.day());
+            thithis.add(thithi);
+            nakshatrams.add(nakshatramCalculator.getNakshatramName(moonLongitude));
+            foodStatuses.add(FoodStatus.forThithi(thithiNumber).type());
+        }
+
+        return new MonthGridResponse(
+            month,
+            startDate,
+            days,
+            tamilMonths,
+            tamilDays,
+            thithis,
+            nakshatrams,
+            foodStatuses
+        );
+    }
+
+    private double normalizeAngle(double angle) {
+        angle = angle % 360;
+        if (angle < 0) {
+            angle += 360;
+        }
+        return angle;
+    }
+}
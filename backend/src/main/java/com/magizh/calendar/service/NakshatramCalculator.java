@@ -4,6 +4,7 @@ import com.magizh.calendar.model.Nakshatram;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * Calculator for Nakshatram (lunar mansion/star).
@@ -36,6 +37,9 @@ public class NakshatramCalculator {
         "Jupiter", "Saturn", "Mercury"
     };
 
+    private static final List<String> NAKSHATRAM_LIST = List.of(NAKSHATRAMS);
+    private static final List<String> LORD_LIST = List.of(LORDS);
+
     private final AstronomyService astronomyService;
 
     public NakshatramCalculator(AstronomyService astronomyService) {
@@ -83,6 +87,20 @@ public class NakshatramCalculator {
         return (int) (moonLongitude / NAKSHATRAM_SPAN) % 27;
     }
 
+    /**
+     * Nakshatram names in order (index 0-26).
+     */
+    public static List<String> nakshatramNames() {
+        return NAKSHATRAM_LIST;
+    }
+
+    /**
+     * Lords of the nakshatrams, by nakshatram index (0-26).
+     */
+    public static List<String> lords() {
+        return LORD_LIST;
+    }
+
     private ZonedDateTime findNakshatramEndTime(ZonedDateTime startTime, double targetLongitude) {
         // Search up to 48 hours for the Moon to reach target longitude
         ZonedDateTime endTime = astronomyService.findMoonAtLongitude(startTime, targetLongitude, 48);
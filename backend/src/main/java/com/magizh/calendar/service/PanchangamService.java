@@ -1,21 +1,54 @@
 package com.magizh.calendar.service;
 
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.cache.Prefetcher;
 import com.magizh.calendar.model.*;
+import com.magizh.calendar.observability.RequestStats;
+import com.magizh.calendar.observability.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service for calculating Panchangam data using Swiss Ephemeris.
  * Provides accurate astronomical calculations for Tamil calendar.
+ *
+ * Only the calculators behind the requested fields are invoked. Per-field
+ * compute time is recorded in the {@code panchangam.field.compute} timer and
+ * per-field demand in the {@code panchangam.field.requests} counter. The
+ * phases of a daily request (cache lookup, sunrise, full computation) are
+ * timed in {@code panchangam.phase}. The same stages are added to the
+ * request's RequestStats for the Server-Timing header.
+ *
+ * With {@code api.prefetch.enabled}, a daily request that missed the cache
+ * queues the day before and after for the same location on the
+ * {@link Prefetcher}, since app users swipe to those next. Prefetched days
+ * are computed exactly as a request would compute them, only off the
+ * request thread.
  */
 @Service
 public class PanchangamService {
 
+    /**
+     * Version of the calculation logic. Bump whenever computed output can change
+     * (ayanamsha, calculator algorithms, name tables) so that ETags, exported
+     * feeds and other persisted results derived from it are invalidated.
+     */
+    public static final int CALCULATION_VERSION = 1;
+
     private final AstronomyService astronomyService;
     private final NakshatramCalculator nakshatramCalculator;
     private final ThithiCalculator thithiCalculator;
@@ -23,7 +56,31 @@ public class PanchangamService {
     private final KaranamCalculator karanamCalculator;
     private final TimingsCalculator timingsCalculator;
     private final TamilCalendarService tamilCalendarService;
+    private final PanchangamCache panchangamCache;
+    private final Prefetcher prefetcher;
+
+    private final Map<PanchangamField, Timer> fieldTimers = new EnumMap<>(PanchangamField.class);
+    private final Map<PanchangamField, Counter> fieldRequests = new EnumMap<>(PanchangamField.class);
+    private final Timer cacheLookupTimer;
+    private final Timer sunriseTimer;
+    private final Timer computeTimer;
+
+    public PanchangamService(
+            AstronomyService astronomyService,
+            NakshatramCalculator nakshatramCalculator,
+            ThithiCalculator thithiCalculator,
+            YogamCalculator yogamCalculator,
+            KaranamCalculator karanamCalculator,
+            TimingsCalculator timingsCalculator,
+            TamilCalendarService tamilCalendarService,
+            PanchangamCache panchangamCache,
+            MeterRegistry meterRegistry
+    ) {
+        this(astronomyService, nakshatramCalculator, thithiCalculator, yogamCalculator, karanamCalculator,
+                timingsCalculator, tamilCalendarService, panchangamCache, Prefetcher.disabled(), meterRegistry);
+    }
 
+    @Autowired
     public PanchangamService(
             AstronomyService astronomyService,
             NakshatramCalculator nakshatramCalculator,
@@ -31,7 +88,10 @@ public class PanchangamService {
             YogamCalculator yogamCalculator,
             KaranamCalculator karanamCalculator,
             TimingsCalculator timingsCalculator,
-            TamilCalendarService tamilCalendarService
+            TamilCalendarService tamilCalendarService,
+            PanchangamCache panchangamCache,
+            Prefetcher prefetcher,
+            MeterRegistry meterRegistry
     ) {
         this.astronomyService = astronomyService;
         this.nakshatramCalculator = nakshatramCalculator;
@@ -40,6 +100,29 @@ public class PanchangamService {
         this.karanamCalculator = karanamCalculator;
         this.timingsCalculator = timingsCalculator;
         this.tamilCalendarService = tamilCalendarService;
+        this.panchangamCache = panchangamCache;
+        this.prefetcher = prefetcher;
+
+        for (PanchangamField field : PanchangamField.values()) {
+            fieldTimers.put(field, Timer.builder("panchangam.field.compute")
+                    .tag("field", field.getValue())
+                    .description("Time spent computing one panchangam field")
+                    .register(meterRegistry));
+            fieldRequests.put(field, Counter.builder("panchangam.field.requests")
+                    .tag("field", field.getValue())
+                    .description("Daily panchangam requests that asked for the field")
+                    .register(meterRegistry));
+        }
+        this.cacheLookupTimer = phaseTimer(meterRegistry, "cache_lookup");
+        this.sunriseTimer = phaseTimer(meterRegistry, "sunrise");
+        this.computeTimer = phaseTimer(meterRegistry, "compute");
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("panchangam.phase")
+                .tag("phase", phase)
+                .description("Time spent in one phase of a daily panchangam request")
+                .register(meterRegistry);
     }
 
     /**
@@ -57,37 +140,118 @@ public class PanchangamService {
             double lng,
             String timezone
     ) {
-        ZoneId zoneId = ZoneId.of(timezone);
+        return getDailyPanchangam(date, lat, lng, timezone, PanchangamField.ALL);
+    }
 
-        // Calculate sunrise and sunset for the location
-        ZonedDateTime sunrise = astronomyService.calculateSunrise(date, lat, lng, zoneId);
-        ZonedDateTime sunset = astronomyService.calculateSunset(date, lat, lng, zoneId);
+    /**
+     * Get selected parts of the Panchangam for a specific date and location.
+     * Fields that were not selected are null in the response.
+     *
+     * @param date     The date to get panchangam for
+     * @param lat      Latitude of the location
+     * @param lng      Longitude of the location
+     * @param timezone Timezone string (e.g., "Asia/Kolkata")
+     * @param fields   Fields to compute
+     * @return PanchangamResponse with the selected fields
+     */
+    public PanchangamResponse getDailyPanchangam(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone,
+            Set<PanchangamField> fields
+    ) {
+        return getDailyPanchangam(date, lat, lng, timezone, fields, true);
+    }
 
-        // Calculate Tamil date using Sun's position at sunrise
-        TamilDate tamilDate = tamilCalendarService.calculate(date, sunrise);
+    private PanchangamResponse getDailyPanchangam(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone,
+            Set<PanchangamField> fields,
+            boolean prefetch
+    ) {
+        for (PanchangamField field : fields) {
+            fieldRequests.get(field).increment();
+        }
 
-        // Calculate the five angams at sunrise
-        Nakshatram nakshatram = nakshatramCalculator.calculate(sunrise);
-        Thithi thithi = thithiCalculator.calculate(sunrise);
-        Yogam yogam = yogamCalculator.calculate(sunrise);
-        Karanam karanam = karanamCalculator.calculate(sunrise);
+        LocationKey location = LocationKey.of(lat, lng, timezone);
+        PanchangamResponse cached = RequestStats.time(Stage.CACHE,
+                () -> cacheLookupTimer.record(() -> panchangamCache.get(date, location, fields)));
+        if (cached != null) {
+            prefetcher.recordHit(date, location);
+            return cached;
+        }
 
-        // Calculate timings based on sunrise/sunset
-        Timings timings = timingsCalculator.calculate(sunrise, sunset, date.getDayOfWeek());
+        PanchangamResponse response = computeTimer.record(
+                () -> calculate(date, lat, lng, ZoneId.of(timezone), fields));
+        panchangamCache.put(date, location, fields, response);
+        if (prefetch) {
+            prefetchAdjacentDays(date, lat, lng, timezone, location);
+        }
+        return response;
+    }
 
-        // Determine food status based on thithi
-        FoodStatus foodStatus = determineFoodStatus(thithi);
+    private void prefetchAdjacentDays(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone,
+            LocationKey location
+    ) {
+        if (!prefetcher.isEnabled()) {
+            return;
+        }
+        for (LocalDate adjacent : List.of(date.plusDays(1), date.minusDays(1))) {
+            if (!panchangamCache.containsFull(adjacent, location)) {
+                prefetcher.submit(adjacent, location,
+                        () -> precompute(adjacent, lat, lng, timezone, location));
+            }
+        }
+    }
 
-        return new PanchangamResponse(
-            date,
-            tamilDate,
-            nakshatram,
-            thithi,
-            yogam,
-            karanam,
-            timings,
-            foodStatus
-        );
+    /**
+     * Compute a full day without going through the cache. Used by batch jobs,
+     * whose output would otherwise evict the entries serving live traffic.
+     */
+    public PanchangamResponse computeDailyPanchangam(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone
+    ) {
+        return calculate(date, lat, lng, ZoneId.of(timezone), PanchangamField.ALL);
+    }
+
+    /**
+     * Compute a full day into the cache unless it is already there. Used by
+     * precompute jobs; not counted as a request or a cache lookup.
+     *
+     * @return true if the day was computed, false if it was already cached
+     */
+    public boolean precomputeDailyPanchangam(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone
+    ) {
+        return precompute(date, lat, lng, timezone, LocationKey.of(lat, lng, timezone));
+    }
+
+    private boolean precompute(
+            LocalDate date,
+            double lat,
+            double lng,
+            String timezone,
+            LocationKey location
+    ) {
+        if (panchangamCache.containsFull(date, location)) {
+            return false;
+        }
+        PanchangamResponse response = calculate(date, lat, lng, ZoneId.of(timezone), PanchangamField.ALL);
+        panchangamCache.put(date, location, PanchangamField.ALL, response);
+        return true;
     }
 
     /**
@@ -107,32 +271,72 @@ public class PanchangamService {
     ) {
         List<PanchangamResponse> weekData = new ArrayList<>();
 
+        // The week's own days are computed right here, so no prefetching per day
         for (int i = 0; i < 7; i++) {
             LocalDate date = startDate.plusDays(i);
-            weekData.add(getDailyPanchangam(date, lat, lng, timezone));
+            weekData.add(getDailyPanchangam(date, lat, lng, timezone, PanchangamField.ALL, false));
         }
 
         return weekData;
     }
 
-    /**
-     * Determine food status based on the thithi.
-     * Special thithis like Ekadasi and Amavasya have dietary recommendations.
-     */
-    private FoodStatus determineFoodStatus(Thithi thithi) {
-        String name = thithi.name();
-
-        if (name.contains("Ekadasi")) {
-            return FoodStatus.fasting();
-        } else if (name.equals("Amavasya")) {
-            return FoodStatus.avoidNonVeg();
-        } else if (name.equals("Pournami")) {
-            return FoodStatus.avoidNonVeg();
-        } else if (name.contains("Ashtami")) {
-            // Some traditions avoid non-veg on Ashtami
-            return FoodStatus.regular();
-        }
+    private PanchangamResponse calculate(
+            LocalDate date,
+            double lat,
+            double lng,
+            ZoneId zoneId,
+            Set<PanchangamField> fields
+    ) {
+        // Sunrise is the reference time for every angam, so it is always needed
+        ZonedDateTime sunrise = RequestStats.time(Stage.SUNRISE,
+                () -> sunriseTimer.record(() -> astronomyService.calculateSunrise(date, lat, lng, zoneId)));
+
+        // Calculate Tamil date using Sun's position at sunrise
+        TamilDate tamilDate = compute(fields, PanchangamField.TAMIL_DATE,
+                () -> tamilCalendarService.calculate(date, sunrise));
+
+        // Calculate the five angams at sunrise
+        Nakshatram nakshatram = compute(fields, PanchangamField.NAKSHATRAM,
+                () -> nakshatramCalculator.calculate(sunrise));
+        Thithi thithi = compute(fields, PanchangamField.THITHI,
+                () -> thithiCalculator.calculate(sunrise));
+        Yogam yogam = compute(fields, PanchangamField.YOGAM,
+                () -> yogamCalculator.calculate(sunrise));
+        Karanam karanam = compute(fields, PanchangamField.KARANAM,
+                () -> karanamCalculator.calculate(sunrise));
+
+        // Calculate timings based on sunrise/sunset
+        Timings timings = compute(fields, PanchangamField.TIMINGS, () -> {
+            ZonedDateTime sunset = astronomyService.calculateSunset(date, lat, lng, zoneId);
+            return timingsCalculator.calculate(sunrise, sunset, date.getDayOfWeek());
+        });
+
+        // Determine food status based on thithi; only the number is needed,
+        // so skip the end-time search when thithi itself was not requested
+        FoodStatus foodStatus = compute(fields, PanchangamField.FOOD_STATUS, () -> {
+            int thithiNumber = thithi != null
+                    ? ThithiCalculator.numberOf(thithi)
+                    : thithiCalculator.getThithiNumber(astronomyService.getMoonSunAngle(sunrise));
+            return FoodStatus.forThithi(thithiNumber);
+        });
 
-        return FoodStatus.regular();
+        return new PanchangamResponse(
+            date,
+            tamilDate,
+            nakshatram,
+            thithi,
+            yogam,
+            karanam,
+            timings,
+            foodStatus
+        );
+    }
+
+    private <T> T compute(Set<PanchangamField> fields, PanchangamField field, Supplier<T> calculation) {
+        if (!fields.contains(field)) {
+            return null;
+        }
+        Stage stage = Stage.valueOf(field.name());
+        return RequestStats.time(stage, () -> fieldTimers.get(field).record(calculation));
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * Service for Tamil calendar calculations.
@@ -78,6 +79,10 @@ public class TamilCalendarService {
         {3, 15}    // Panguni starts ~March 15
     };
 
+    private static final List<String> TAMIL_MONTH_LIST = List.of(TAMIL_MONTHS);
+    private static final List<String> TAMIL_WEEKDAY_LIST = List.of(TAMIL_WEEKDAYS);
+    private static final List<String> YEAR_NAME_LIST = List.of(YEAR_NAMES);
+
     private final AstronomyService astronomyService;
 
     public TamilCalendarService(AstronomyService astronomyService) {
@@ -93,8 +98,18 @@ public class TamilCalendarService {
      */
     public TamilDate calculate(LocalDate date, ZonedDateTime sunrise) {
         // Get Sun's longitude to determine Tamil month
-        double sunLongitude = astronomyService.getSunLongitude(sunrise);
+        return calculate(date, astronomyService.getSunLongitude(sunrise));
+    }
 
+    /**
+     * Calculate Tamil date from an already known sidereal Sun longitude.
+     * Lets range sweeps reuse the ephemeris value they fetched at sunrise.
+     *
+     * @param date The Gregorian date
+     * @param sunLongitude Sun's sidereal longitude at sunrise (0-360)
+     * @return TamilDate with month, day, year name, and weekday
+     */
+    public TamilDate calculate(LocalDate date, double sunLongitude) {
         // Determine Tamil month from Sun's zodiac position
         int monthIndex = getTamilMonthFromSunPosition(sunLongitude);
         String tamilMonth = TAMIL_MONTHS[monthIndex];
@@ -207,4 +222,25 @@ public class TamilCalendarService {
     public String getTamilMonthName(int index) {
         return TAMIL_MONTHS[index % 12];
     }
+
+    /**
+     * Tamil month names in order, Chithirai first (index 0-11).
+     */
+    public static List<String> tamilMonthNames() {
+        return TAMIL_MONTH_LIST;
+    }
+
+    /**
+     * Tamil weekday names, Nyairu (Sunday) first (index 0-6).
+     */
+    public static List<String> tamilWeekdayNames() {
+        return TAMIL_WEEKDAY_LIST;
+    }
+
+    /**
+     * Names of the 60-year cycle, Prabhava first (index 0-59).
+     */
+    public static List<String> yearNames() {
+        return YEAR_NAME_LIST;
+    }
 }
@@ -5,6 +5,8 @@ import com.magizh.calendar.model.Thithi.Paksha;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Calculator for Thithi (lunar day).
@@ -26,6 +28,10 @@ public class ThithiCalculator {
         // Krishna paksha ends with Amavasai
     };
 
+    // Names by thithi number (1-30), Shukla then Krishna paksha
+    private static final List<String> THITHI_LIST =
+            IntStream.rangeClosed(1, 30).mapToObj(ThithiCalculator::nameOf).toList();
+
     private final AstronomyService astronomyService;
 
     public ThithiCalculator(AstronomyService astronomyService) {
@@ -45,28 +51,8 @@ public class ThithiCalculator {
         int thithiNumber = (int) (moonSunAngle / THITHI_SPAN) + 1;
         if (thithiNumber > 30) thithiNumber = 30;
 
-        // Determine paksha and thithi name
-        Paksha paksha;
-        String name;
-
-        if (thithiNumber <= 15) {
-            // Shukla Paksha (waxing moon, 0-180°)
-            paksha = Paksha.SHUKLA;
-            if (thithiNumber == 15) {
-                name = "Pournami"; // Full Moon
-            } else {
-                name = THITHI_NAMES[thithiNumber - 1];
-            }
-        } else {
-            // Krishna Paksha (waning moon, 180-360°)
-            paksha = Paksha.KRISHNA;
-            int krishnaThithi = thithiNumber - 15;
-            if (krishnaThithi == 15) {
-                name = "Amavasai"; // New Moon
-            } else {
-                name = THITHI_NAMES[krishnaThithi - 1];
-            }
-        }
+        Paksha paksha = getPaksha(thithiNumber);
+        String name = getThithiName(thithiNumber);
 
         // Calculate when this thithi ends
         double nextThithiAngle = thithiNumber * THITHI_SPAN;
@@ -85,6 +71,50 @@ public class ThithiCalculator {
         return Math.min(num, 30);
     }
 
+    /**
+     * Get the paksha for a thithi number (1-30).
+     * Shukla Paksha (waxing moon) covers 0-180°, Krishna Paksha (waning moon) 180-360°.
+     */
+    public Paksha getPaksha(int thithiNumber) {
+        return thithiNumber <= 15 ? Paksha.SHUKLA : Paksha.KRISHNA;
+    }
+
+    /**
+     * Get the thithi name for a thithi number (1-30).
+     */
+    public String getThithiName(int thithiNumber) {
+        return nameOf(thithiNumber);
+    }
+
+    /**
+     * Thithi names in thithi-number order; index 0 is thithi 1, index 29 is Amavasai.
+     */
+    public static List<String> thithiNames() {
+        return THITHI_LIST;
+    }
+
+    /**
+     * The thithi number (1-30) of a thithi, from its name and paksha.
+     *
+     * @throws IllegalArgumentException if the name is not a thithi name
+     */
+    public static int numberOf(Thithi thithi) {
+        int index = THITHI_LIST.indexOf(thithi.name());
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown thithi: " + thithi.name());
+        }
+        // Names other than Pournami and Amavasai appear in both pakshas; indexOf finds the Shukla one
+        return thithi.paksha() == Paksha.KRISHNA && index < 15 ? index + 16 : index + 1;
+    }
+
+    private static String nameOf(int thithiNumber) {
+        if (thithiNumber <= 15) {
+            return thithiNumber == 15 ? "Pournami" : THITHI_NAMES[thithiNumber - 1]; // Full Moon
+        }
+        int krishnaThithi = thithiNumber - 15;
+        return krishnaThithi == 15 ? "Amavasai" : THITHI_NAMES[krishnaThithi - 1]; // New Moon
+    }
+
     /**
      * Check if the thithi is special (Ekadasi, Pournami, Amavasya, etc.)
      */
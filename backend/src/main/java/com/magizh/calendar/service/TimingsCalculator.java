@@ -122,6 +122,21 @@ public class TimingsCalculator {
         return new Timings(sunrise, sunset, nallaNeram, rahukaalam, yamagandam, kuligai, gowriNallaNeram);
     }
 
+    /**
+     * Calculate only Rahukaalam for a given day.
+     * Used by range exports that do not need the rest of the timings.
+     *
+     * @param sunrise Sunrise time
+     * @param sunset Sunset time
+     * @param dayOfWeek Day of the week
+     * @return Rahukaalam period
+     */
+    public TimeRange calculateRahukaalam(ZonedDateTime sunrise, ZonedDateTime sunset, DayOfWeek dayOfWeek) {
+        Duration segmentDuration = Duration.between(sunrise, sunset).dividedBy(8);
+        int dayIndex = dayOfWeek.getValue() % 7; // Sun=0, Mon=1, ..., Sat=6
+        return calculateSegment(sunrise, segmentDuration, RAHUKAALAM_SEGMENTS[dayIndex], TimingType.RAHUKAALAM);
+    }
+
     private TimeRange calculateSegment(ZonedDateTime sunrise, Duration segmentDuration,
                                         int segment, TimingType type) {
         // Segments are 1-based
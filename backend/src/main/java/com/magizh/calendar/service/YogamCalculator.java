@@ -2,10 +2,14 @@ package com.magizh.calendar.service;
 
 import com.magizh.calendar.model.Yogam;
 import com.magizh.calendar.model.Yogam.YogamType;
+import com.magizh.calendar.observability.SolverRunEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * Calculator for Yogam.
@@ -59,10 +63,16 @@ public class YogamCalculator {
         YogamType.INAUSPICIOUS   // Vaidhriti
     };
 
+    private static final List<String> YOGAM_LIST = List.of(YOGAMS);
+
     private final AstronomyService astronomyService;
+    private final DistributionSummary startScanIterations;
+    private final DistributionSummary endScanIterations;
 
-    public YogamCalculator(AstronomyService astronomyService) {
+    public YogamCalculator(AstronomyService astronomyService, MeterRegistry meterRegistry) {
         this.astronomyService = astronomyService;
+        this.startScanIterations = AstronomyService.solverIterations(meterRegistry, "yogam_start");
+        this.endScanIterations = AstronomyService.solverIterations(meterRegistry, "yogam_end");
     }
 
     /**
@@ -102,25 +112,40 @@ public class YogamCalculator {
         return YOGAM_TYPES[index];
     }
 
+    /**
+     * Yogam names in order (index 0-26).
+     */
+    public static List<String> yogamNames() {
+        return YOGAM_LIST;
+    }
+
     private ZonedDateTime findYogamStartTime(ZonedDateTime baseTime, int yogamIndex) {
         // Search backwards to find when this yogam started
         double targetSum = yogamIndex * YOGAM_SPAN;
 
+        SolverRunEvent event = new SolverRunEvent();
+        event.begin();
         ZonedDateTime searchTime = baseTime.minusHours(24);
         ZonedDateTime bestTime = baseTime;
+        boolean found = false;
 
         // Simple search backwards
+        int iterations = 0;
         while (searchTime.isBefore(baseTime)) {
+            iterations++;
             double sum = astronomyService.getSunMoonSum(searchTime);
             int currentIndex = (int) (sum / YOGAM_SPAN) % 27;
 
             if (currentIndex != yogamIndex) {
                 // Found transition point
                 bestTime = searchTime.plusMinutes(30);
+                found = true;
                 break;
             }
             searchTime = searchTime.plusMinutes(30);
         }
+        startScanIterations.record(iterations);
+        event.complete("yogam_start", targetSum, iterations, Duration.ofHours(24).toMillis(), found);
 
         return bestTime;
     }
@@ -129,18 +154,26 @@ public class YogamCalculator {
         // Search forward to find when this yogam ends
         double nextYogamSum = ((yogamIndex + 1) % 27) * YOGAM_SPAN;
 
+        SolverRunEvent event = new SolverRunEvent();
+        event.begin();
         ZonedDateTime searchTime = baseTime;
         ZonedDateTime maxTime = baseTime.plusHours(48);
 
+        int iterations = 0;
         while (searchTime.isBefore(maxTime)) {
+            iterations++;
             double sum = astronomyService.getSunMoonSum(searchTime);
             int currentIndex = (int) (sum / YOGAM_SPAN) % 27;
 
             if (currentIndex != yogamIndex) {
+                endScanIterations.record(iterations);
+                event.complete("yogam_end", nextYogamSum, iterations, Duration.ofHours(48).toMillis(), true);
                 return searchTime;
             }
             searchTime = searchTime.plusMinutes(30);
         }
+        endScanIterations.record(iterations);
+        event.complete("yogam_end", nextYogamSum, iterations, Duration.ofHours(48).toMillis(), false);
 
         // Fallback: estimate ~24 hours
         return baseTime.plusHours(24);
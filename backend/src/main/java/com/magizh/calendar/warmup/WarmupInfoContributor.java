@@ -0,0 +1,30 @@
+package com.magizh.calendar.warmup;
+
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * "warmup" section of {@code /actuator/info}: how the last warmup went.
+ * Readiness itself is driven by {@link WarmupRunner}'s availability events.
+ */
+@Component
+public class WarmupInfoContributor implements InfoContributor {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupInfoContributor(WarmupRunner warmupRunner) {
+        this.warmupRunner = warmupRunner;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("warmup", Map.of(
+                "finished", warmupRunner.isFinished(),
+                "outcome", warmupRunner.outcome(),
+                "rounds", warmupRunner.rounds(),
+                "elapsedMs", warmupRunner.elapsedMillis()));
+    }
+}
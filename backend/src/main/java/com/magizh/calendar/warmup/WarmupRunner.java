@@ -0,0 +1,181 @@
+package com.magizh.calendar.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.service.PanchangamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the JIT before the instance takes traffic.
+ *
+ * Right after startup the ephemeris routines, the bisection loops and
+ * Jackson serialization all run interpreted. This runs as an
+ * ApplicationRunner, once the web server is listening but before the
+ * application is marked ready: rounds of {@value #ROUND_SIZE} uncached
+ * computations on random dates and cities, serialized to JSON like a
+ * response, until JIT compilation settles or
+ * {@code api.warmup.time-budget-ms} runs out. Nothing is cached; filling the
+ * cache for the configured cities is left to PrecomputeService, which
+ * starts once the application is ready.
+ *
+ * Compilation counts as settled when the JIT spends less than
+ * {@code api.warmup.settle-ratio} of a round's time compiling, for
+ * {@value #SETTLED_ROUNDS} rounds in a row.
+ *
+ * Readiness is REFUSING_TRAFFIC while it runs and ACCEPTING_TRAFFIC once it
+ * finishes, so {@code /actuator/health/readiness} keeps load balancers away
+ * from a cold instance. Progress is reported under "warmup" on
+ * {@code /actuator/info}.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    static final int ROUND_SIZE = 32;
+    static final int SETTLED_ROUNDS = 3;
+
+    private static final long FIRST_DAY = LocalDate.of(1950, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2050, 12, 31).toEpochDay();
+
+    private final PanchangamService panchangamService;
+    private final CityProperties cityProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long timeBudgetNanos;
+    private final double settleRatio;
+
+    private volatile boolean finished;
+    private volatile int rounds;
+    private volatile long elapsedMillis;
+    private volatile String outcome = "pending";
+
+    public WarmupRunner(
+            PanchangamService panchangamService,
+            CityProperties cityProperties,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${api.warmup.enabled:true}") boolean enabled,
+            @Value("${api.warmup.time-budget-ms:20000}") long timeBudgetMs,
+            @Value("${api.warmup.settle-ratio:0.02}") double settleRatio
+    ) {
+        this.panchangamService = panchangamService;
+        this.cityProperties = cityProperties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        this.settleRatio = settleRatio;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            outcome = "disabled";
+            finished = true;
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * Run the JIT rounds on the calling thread. Always finishes and accepts
+     * traffic, even on errors: a failed warmup must not keep the instance
+     * out of service.
+     */
+    void warmUp() {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        try {
+            outcome = settle(deadline) ? "settled" : "time budget reached";
+        } catch (RuntimeException e) {
+            outcome = "failed: " + e.getMessage();
+            log.error("Warmup failed, taking traffic anyway", e);
+        } finally {
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            finished = true;
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+        log.info("Warmup {} after {} ms: {} JIT rounds", outcome, elapsedMillis, rounds);
+    }
+
+    /**
+     * @return false if the time budget ran out before compilation settled
+     */
+    private boolean settle(long deadline) {
+        if (cityProperties.cities().isEmpty()) {
+            return true;
+        }
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean canMeasure = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        SplittableRandom random = new SplittableRandom(42);
+
+        int quietRounds = 0;
+        while (quietRounds < SETTLED_ROUNDS) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            long roundStart = System.nanoTime();
+            long compileStart = canMeasure ? compiler.getTotalCompilationTime() : 0;
+
+            for (int i = 0; i < ROUND_SIZE; i++) {
+                City city = cityProperties.cities().get(random.nextInt(cityProperties.cities().size()));
+                LocalDate date = LocalDate.ofEpochDay(random.nextLong(FIRST_DAY, LAST_DAY + 1));
+                serialize(panchangamService.computeDailyPanchangam(date, city.lat(), city.lng(), city.timezone()));
+            }
+            rounds++;
+
+            if (!canMeasure) {
+                // No way to tell, so spend the whole budget
+                continue;
+            }
+            long roundMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - roundStart);
+            long compileMillis = compiler.getTotalCompilationTime() - compileStart;
+            quietRounds = compileMillis <= roundMillis * settleRatio ? quietRounds + 1 : 0;
+        }
+        return true;
+    }
+
+    private void serialize(PanchangamResponse response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize warmup response", e);
+        }
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String outcome() {
+        return outcome;
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,243 @@
+package com.magizh.calendar.accuracy;
+
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential accuracy harness: every fast path against the reference
+ * bisection ({@link ReferenceSolver}), over dates spread across 1900-2100
+ * and a latitude/longitude grid.
+ *
+ * For each path it prints max, p99 and mean error in seconds next to the
+ * speedup over the reference, and fails when a path breaks its threshold.
+ * New fast paths (tables, interpolation, Newton steps) get a row in
+ * {@link #fastPaths()} with their own limits.
+ *
+ * Tagged "accuracy" and run with {@code make accuracy}, since it takes a
+ * while and times code. Override the sample count with {@code -Daccuracy.samples=N}.
+ */
+@Tag("accuracy")
+@DisplayName("Fast Path Accuracy Harness")
+class AccuracyHarnessTest {
+
+    private static final int SAMPLES = Integer.getInteger("accuracy.samples", 2000);
+    private static final long SEED = 19002100L;
+    private static final Duration HORIZON = Duration.ofHours(48);
+
+    private static final double NAKSHATRAM_SPAN = 360.0 / 27.0;
+    private static final double THITHI_SPAN = 12.0;
+    private static final double KARANAM_SPAN = 6.0;
+    private static final double YOGAM_SPAN = 360.0 / 27.0;
+
+    // Bisection stops once the bracket is within a minute
+    private static final Threshold MINUTE_BISECTION = new Threshold(62, 61, 0.5);
+
+    private static AstronomyService astronomy;
+    private static NakshatramCalculator nakshatram;
+    private static ThithiCalculator thithi;
+    private static KaranamCalculator karanam;
+    private static YogamCalculator yogam;
+    private static List<ZonedDateTime> baseTimes;
+
+    /**
+     * Limits a path must stay within.
+     *
+     * @param maxSeconds Largest tolerated error
+     * @param p99Seconds Tolerated 99th percentile error
+     * @param minSpeedup Lowest tolerated reference time / path time
+     */
+    record Threshold(double maxSeconds, double p99Seconds, double minSpeedup) {}
+
+    /**
+     * @param threshold Limits, or null to report without gating
+     */
+    record FastPath(String name,
+                    Function<ZonedDateTime, ZonedDateTime> candidate,
+                    Function<ZonedDateTime, ZonedDateTime> reference,
+                    Threshold threshold) {}
+
+    @BeforeAll
+    static void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        astronomy = new AstronomyService(registry);
+        astronomy.init();
+        nakshatram = new NakshatramCalculator(astronomy);
+        thithi = new ThithiCalculator(astronomy);
+        karanam = new KaranamCalculator(astronomy);
+        yogam = new YogamCalculator(astronomy, registry);
+        baseTimes = sunrises(SAMPLES);
+    }
+
+    /**
+     * Sunrise on random dates in 1900-2100, cycling through a grid of
+     * locations from 45°S to 60°N, each on its nearest whole-hour offset.
+     */
+    private static List<ZonedDateTime> sunrises(int count) {
+        List<double[]> grid = new ArrayList<>();
+        for (int lat = -45; lat <= 60; lat += 15) {
+            for (int lng = -150; lng <= 150; lng += 30) {
+                grid.add(new double[] {lat, lng});
+            }
+        }
+        Random random = new Random(SEED);
+        long first = LocalDate.of(1900, 1, 1).toEpochDay();
+        long last = LocalDate.of(2100, 12, 31).toEpochDay();
+        List<ZonedDateTime> times = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] location = grid.get(i % grid.size());
+            LocalDate date = LocalDate.ofEpochDay(first + (long) (random.nextDouble() * (last - first + 1)));
+            ZoneOffset zone = ZoneOffset.ofHours((int) Math.round(location[1] / 15));
+            times.add(astronomy.calculateSunrise(date, location[0], location[1], zone));
+        }
+        return times;
+    }
+
+    private static List<FastPath> fastPaths() {
+        ToDoubleFunction<ZonedDateTime> moon = astronomy::getMoonLongitude;
+        ToDoubleFunction<ZonedDateTime> moonSun = astronomy::getMoonSunAngle;
+        ToDoubleFunction<ZonedDateTime> sunMoon = astronomy::getSunMoonSum;
+
+        return List.of(
+                new FastPath("findMoonAtLongitude",
+                        t -> astronomy.findMoonAtLongitude(t, nextBoundary(moon, t, NAKSHATRAM_SPAN), 48),
+                        t -> ReferenceSolver.nextCrossing(moon, t, nextBoundary(moon, t, NAKSHATRAM_SPAN), HORIZON),
+                        MINUTE_BISECTION),
+                new FastPath("findMoonSunAngle",
+                        t -> astronomy.findMoonSunAngle(t, nextBoundary(moonSun, t, THITHI_SPAN), 48),
+                        t -> ReferenceSolver.nextCrossing(moonSun, t, nextBoundary(moonSun, t, THITHI_SPAN), HORIZON),
+                        MINUTE_BISECTION),
+                new FastPath("nakshatram.end",
+                        t -> nakshatram.calculate(t).endTime(),
+                        t -> ReferenceSolver.nextCrossing(moon, t, nextBoundary(moon, t, NAKSHATRAM_SPAN), HORIZON),
+                        MINUTE_BISECTION),
+                new FastPath("thithi.end",
+                        t -> thithi.calculate(t).endTime(),
+                        t -> ReferenceSolver.nextCrossing(moonSun, t, nextBoundary(moonSun, t, THITHI_SPAN), HORIZON),
+                        MINUTE_BISECTION),
+                new FastPath("karanam.end",
+                        t -> karanam.calculate(t).endTime(),
+                        t -> ReferenceSolver.nextCrossing(moonSun, t, nextBoundary(moonSun, t, KARANAM_SPAN), HORIZON),
+                        MINUTE_BISECTION),
+                // Forward scan in 30-minute steps
+                new FastPath("yogam.end",
+                        t -> yogam.calculate(t).endTime(),
+                        t -> ReferenceSolver.nextCrossing(sunMoon, t, nextBoundary(sunMoon, t, YOGAM_SPAN), HORIZON),
+                        new Threshold(1805, 1800, 0.5)),
+                // Reported only: the backward scan stops at the first 30-minute step
+                // in a different yogam counting from 24h back, not at the transition
+                new FastPath("yogam.start",
+                        t -> yogam.calculate(t).startTime(),
+                        t -> ReferenceSolver.previousCrossing(sunMoon, t, boundary(sunMoon, t, YOGAM_SPAN), HORIZON),
+                        null)
+        );
+    }
+
+    @Test
+    @DisplayName("Fast paths stay within their error and speed thresholds")
+    void testFastPaths() {
+        List<String> violations = new ArrayList<>();
+        System.out.printf("%nAccuracy vs reference bisection, %d samples, 1900-2100%n", baseTimes.size());
+        System.out.printf("%-20s %7s %8s %8s %8s %8s%n", "path", "missing", "max s", "p99 s", "mean s", "speedup");
+
+        for (FastPath path : fastPaths()) {
+            ErrorStats stats = new ErrorStats();
+            double speedup = compare(path, stats);
+            System.out.printf("%-20s %7d %8.1f %8.1f %8.1f %7.2fx%s%n", path.name(), stats.missing(),
+                    stats.max(), stats.percentile(99), stats.mean(), speedup,
+                    path.threshold() == null ? "  (not gated)" : "");
+
+            Threshold threshold = path.threshold();
+            if (threshold == null) {
+                continue;
+            }
+            if (stats.missing() > 0) {
+                violations.add(path.name() + ": no result for " + stats.missing() + " samples");
+            }
+            if (stats.max() > threshold.maxSeconds()) {
+                violations.add(String.format("%s: max error %.1fs > %.1fs", path.name(), stats.max(), threshold.maxSeconds()));
+            }
+            if (stats.percentile(99) > threshold.p99Seconds()) {
+                violations.add(String.format("%s: p99 error %.1fs > %.1fs", path.name(), stats.percentile(99), threshold.p99Seconds()));
+            }
+            if (speedup < threshold.minSpeedup()) {
+                violations.add(String.format("%s: speedup %.2fx < %.2fx", path.name(), speedup, threshold.minSpeedup()));
+            }
+        }
+
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    /**
+     * Run the path and its reference over all samples, recording errors.
+     *
+     * @return reference time / path time
+     */
+    private static double compare(FastPath path, ErrorStats stats) {
+        // Warm both up so the timing compares compiled code
+        List<ZonedDateTime> warmup = baseTimes.subList(0, Math.min(200, baseTimes.size()));
+        run(path.candidate(), warmup);
+        run(path.reference(), warmup);
+
+        long start = System.nanoTime();
+        ZonedDateTime[] candidates = run(path.candidate(), baseTimes);
+        long candidateNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        ZonedDateTime[] references = run(path.reference(), baseTimes);
+        long referenceNanos = System.nanoTime() - start;
+
+        for (int i = 0; i < baseTimes.size(); i++) {
+            if (references[i] == null) {
+                continue; // Nothing to compare against
+            }
+            if (candidates[i] == null) {
+                stats.addMissing();
+            } else {
+                stats.add(Duration.between(references[i], candidates[i]).toMillis() / 1000.0);
+            }
+        }
+        return referenceNanos / (double) Math.max(1, candidateNanos);
+    }
+
+    private static ZonedDateTime[] run(Function<ZonedDateTime, ZonedDateTime> function, List<ZonedDateTime> times) {
+        ZonedDateTime[] results = new ZonedDateTime[times.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = function.apply(times.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Start of the span the angle is in at time t.
+     */
+    private static double boundary(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime t, double span) {
+        return (int) (angle.applyAsDouble(t) / span) * span;
+    }
+
+    /**
+     * End of the span the angle is in at time t.
+     */
+    private static double nextBoundary(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime t, double span) {
+        return (boundary(angle, t, span) + span) % 360;
+    }
+}
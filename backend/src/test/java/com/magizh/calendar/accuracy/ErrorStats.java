@@ -0,0 +1,65 @@
+package com.magizh.calendar.accuracy;
+
+import java.util.Arrays;
+
+/**
+ * Absolute timing errors, in seconds, of one fast path against the reference.
+ */
+final class ErrorStats {
+
+    private double[] errors = new double[1024];
+    private int count;
+    private int missing;
+    private boolean sorted;
+
+    void add(double errorSeconds) {
+        if (count == errors.length) {
+            errors = Arrays.copyOf(errors, count * 2);
+        }
+        errors[count++] = Math.abs(errorSeconds);
+        sorted = false;
+    }
+
+    /**
+     * The fast path found no answer where the reference did.
+     */
+    void addMissing() {
+        missing++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int missing() {
+        return missing;
+    }
+
+    double max() {
+        return count == 0 ? 0 : sorted()[count - 1];
+    }
+
+    double mean() {
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += errors[i];
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted()[Math.max(0, Math.min(rank, count - 1))];
+    }
+
+    private double[] sorted() {
+        if (!sorted) {
+            Arrays.sort(errors, 0, count);
+            sorted = true;
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,89 @@
+package com.magizh.calendar.accuracy;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Reference crossing times for the accuracy harness: plain bisection on
+ * Swiss Ephemeris positions to sub-second precision. Slow on purpose; this
+ * is what every faster path is measured against.
+ *
+ * The angles (Moon longitude, Moon-Sun angle, Sun+Moon sum) only ever
+ * increase, so the crossing is bracketed by stepping an hour at a time,
+ * which is far less than the time any of them takes to move 180°.
+ */
+final class ReferenceSolver {
+
+    private static final Duration STEP = Duration.ofHours(1);
+    private static final long PRECISION_MILLIS = 500;
+
+    private ReferenceSolver() {
+    }
+
+    /**
+     * First time after {@code start} at which {@code angle} reaches {@code target}.
+     */
+    static ZonedDateTime nextCrossing(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime start,
+                                      double target, Duration limit) {
+        ZonedDateTime left = start;
+        ZonedDateTime end = start.plus(limit);
+        double leftOffset = offset(angle, left, target);
+        while (left.isBefore(end)) {
+            ZonedDateTime right = left.plus(STEP);
+            double rightOffset = offset(angle, right, target);
+            if (leftOffset < 0 && rightOffset >= 0) {
+                return bisect(angle, left, right, target);
+            }
+            left = right;
+            leftOffset = rightOffset;
+        }
+        return null;
+    }
+
+    /**
+     * Last time before {@code start} at which {@code angle} reached {@code target}.
+     */
+    static ZonedDateTime previousCrossing(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime start,
+                                          double target, Duration limit) {
+        ZonedDateTime right = start;
+        ZonedDateTime end = start.minus(limit);
+        double rightOffset = offset(angle, right, target);
+        while (right.isAfter(end)) {
+            ZonedDateTime left = right.minus(STEP);
+            double leftOffset = offset(angle, left, target);
+            if (leftOffset < 0 && rightOffset >= 0) {
+                return bisect(angle, left, right, target);
+            }
+            right = left;
+            rightOffset = leftOffset;
+        }
+        return null;
+    }
+
+    private static ZonedDateTime bisect(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime left,
+                                        ZonedDateTime right, double target) {
+        while (Duration.between(left, right).toMillis() > PRECISION_MILLIS) {
+            ZonedDateTime mid = left.plus(Duration.between(left, right).dividedBy(2));
+            if (offset(angle, mid, target) < 0) {
+                left = mid;
+            } else {
+                right = mid;
+            }
+        }
+        return left.plus(Duration.between(left, right).dividedBy(2));
+    }
+
+    /**
+     * Signed distance from target to angle, in (-180, 180].
+     */
+    private static double offset(ToDoubleFunction<ZonedDateTime> angle, ZonedDateTime time, double target) {
+        double offset = (angle.applyAsDouble(time) - target) % 360;
+        if (offset > 180) {
+            offset -= 360;
+        } else if (offset <= -180) {
+            offset += 360;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,142 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.Yogam;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CacheSnapshot.
+ *
+ * Verifies that full days survive a write and restore, on and off the heap,
+ * and that stale or damaged snapshots are ignored.
+ */
+@DisplayName("CacheSnapshot Tests")
+class CacheSnapshotTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 4);
+    private static final LocationKey CHENNAI = LocationKey.of(13.0827, 80.2707, "Asia/Kolkata");
+    private static final LocationKey TORONTO = LocationKey.of(43.6532, -79.3832, "America/Toronto");
+
+    private final TimingsCalculator timingsCalculator = new TimingsCalculator(new GowriCalculator());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Full days survive a write and restore")
+    void testRoundTrip() throws IOException {
+        Path path = dir.resolve("panchangam.snapshot");
+        PanchangamCache source = new PanchangamCache(10);
+        source.put(DATE, CHENNAI, PanchangamField.ALL, day(DATE, CHENNAI));
+        source.put(DATE, TORONTO, PanchangamField.ALL, day(DATE, TORONTO));
+        EnumSet<PanchangamField> foodOnly = EnumSet.of(PanchangamField.FOOD_STATUS);
+        source.put(DATE.plusDays(1), CHENNAI, foodOnly, day(DATE.plusDays(1), CHENNAI).select(foodOnly));
+
+        assertEquals(2, snapshot(source, path, 1).write(), "Partial selections are not snapshotted");
+
+        PanchangamCache restored = new PanchangamCache(10);
+        assertEquals(2, snapshot(restored, path, 1).restore());
+        assertEquals(day(DATE, CHENNAI), restored.get(DATE, CHENNAI, PanchangamField.ALL));
+        assertEquals(day(DATE, TORONTO), restored.get(DATE, TORONTO, PanchangamField.ALL));
+        assertNull(restored.get(DATE.plusDays(1), CHENNAI, foodOnly));
+    }
+
+    @Test
+    @DisplayName("Off-heap days are snapshotted and restored off-heap")
+    void testOffHeap() throws IOException {
+        Path path = dir.resolve("panchangam.snapshot");
+        PanchangamCache source = new PanchangamCache(10, new CompactPanchangamStore(100, timingsCalculator));
+        for (int i = 0; i < 20; i++) {
+            source.put(DATE.plusDays(i), CHENNAI, PanchangamField.ALL, day(DATE.plusDays(i), CHENNAI));
+        }
+        assertEquals(20, snapshot(source, path, 1).write());
+
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamCache restored = new PanchangamCache(10, store);
+        assertEquals(20, snapshot(restored, path, 1).restore());
+        assertEquals(20, store.size());
+        assertEquals(day(DATE.plusDays(7), CHENNAI), restored.get(DATE.plusDays(7), CHENNAI, PanchangamField.ALL));
+    }
+
+    @Test
+    @DisplayName("A snapshot from another calculation version or ayanamsha is ignored")
+    void testVersionMismatch() throws IOException {
+        Path path = dir.resolve("panchangam.snapshot");
+        PanchangamCache source = new PanchangamCache(10);
+        source.put(DATE, CHENNAI, PanchangamField.ALL, day(DATE, CHENNAI));
+        snapshot(source, path, 1).write();
+
+        assertEquals(0, snapshot(new PanchangamCache(10), path, 2).restore());
+        PanchangamCache otherAyanamsha = new PanchangamCache(10);
+        assertEquals(0, new CacheSnapshot(otherAyanamsha, true, path, 1, 99).restore());
+        assertEquals(0, otherAyanamsha.size());
+    }
+
+    @Test
+    @DisplayName("A damaged snapshot is ignored")
+    void testChecksum() throws IOException {
+        Path path = dir.resolve("panchangam.snapshot");
+        PanchangamCache source = new PanchangamCache(10);
+        source.put(DATE, CHENNAI, PanchangamField.ALL, day(DATE, CHENNAI));
+        snapshot(source, path, 1).write();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), CacheSnapshot.HEADER_BYTES + 30);
+        }
+        assertEquals(0, snapshot(new PanchangamCache(10), path, 1).restore());
+    }
+
+    @Test
+    @DisplayName("An empty cache does not overwrite a snapshot")
+    void testEmptyCacheNotWritten() throws IOException {
+        Path path = dir.resolve("panchangam.snapshot");
+        PanchangamCache source = new PanchangamCache(10);
+        source.put(DATE, CHENNAI, PanchangamField.ALL, day(DATE, CHENNAI));
+        snapshot(source, path, 1).write();
+
+        assertEquals(0, snapshot(new PanchangamCache(10), path, 1).write());
+        assertEquals(1, snapshot(new PanchangamCache(10), path, 1).restore());
+        assertFalse(Files.exists(dir.resolve("panchangam.snapshot.tmp")));
+    }
+
+    private static CacheSnapshot snapshot(PanchangamCache cache, Path path, int calculationVersion) {
+        return new CacheSnapshot(cache, true, path, calculationVersion, 1);
+    }
+
+    private PanchangamResponse day(LocalDate date, LocationKey location) {
+        ZonedDateTime midnight = date.atStartOfDay(ZoneId.of(location.timezone()));
+        return new PanchangamResponse(
+                date,
+                new TamilDate("Margazhi", 20, "Vishvavasu", "Nyairu"),
+                new Nakshatram("Rohini", midnight.plusHours(14).plusNanos(123_456_789), "Moon"),
+                new Thithi("Dasami", Thithi.Paksha.SHUKLA, midnight.plusHours(30).plusNanos(1)),
+                new Yogam("Siddhi", Yogam.YogamType.AUSPICIOUS, midnight.minusHours(3), midnight.plusHours(20)),
+                new Karanam("Bava", midnight.plusHours(9).plusSeconds(7)),
+                timingsCalculator.calculate(midnight.withHour(6).withMinute(31).withSecond(12),
+                        midnight.withHour(17).withMinute(58).withSecond(40), date.getDayOfWeek()),
+                FoodStatus.forThithi(10));
+    }
+}
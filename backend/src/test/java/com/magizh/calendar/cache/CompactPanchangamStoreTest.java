@@ -0,0 +1,156 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.Yogam;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactPanchangamStore.
+ *
+ * Verifies exact round trips (including sub-second end times), lazy field
+ * decoding, clock eviction and that the heap cache routes full days to the
+ * store.
+ */
+@DisplayName("CompactPanchangamStore Tests")
+class CompactPanchangamStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 4);
+    private static final LocationKey CHENNAI = LocationKey.of(13.0827, 80.2707, "Asia/Kolkata");
+
+    private final TimingsCalculator timingsCalculator = new TimingsCalculator(new GowriCalculator());
+
+    @Test
+    @DisplayName("A full day round-trips exactly")
+    void testRoundTrip() {
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamResponse day = day(DATE, CHENNAI, "Pournami", Thithi.Paksha.SHUKLA);
+
+        assertTrue(store.put(DATE, CHENNAI, day));
+        assertEquals(day, store.get(DATE, CHENNAI, PanchangamField.ALL));
+        assertTrue(store.contains(DATE, CHENNAI));
+        assertNull(store.get(DATE.plusDays(1), CHENNAI, PanchangamField.ALL));
+        assertNull(store.get(DATE, LocationKey.of(13.0827, 80.2707, "UTC"), PanchangamField.ALL));
+    }
+
+    @Test
+    @DisplayName("Krishna paksha thithis keep their paksha")
+    void testKrishnaPaksha() {
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamResponse prathama = day(DATE, CHENNAI, "Prathama", Thithi.Paksha.KRISHNA);
+        PanchangamResponse amavasai = day(DATE.plusDays(1), CHENNAI, "Amavasai", Thithi.Paksha.KRISHNA);
+
+        assertTrue(store.put(DATE, CHENNAI, prathama));
+        assertTrue(store.put(DATE.plusDays(1), CHENNAI, amavasai));
+        assertEquals(prathama, store.get(DATE, CHENNAI, PanchangamField.ALL));
+        assertEquals(amavasai, store.get(DATE.plusDays(1), CHENNAI, PanchangamField.ALL));
+    }
+
+    @Test
+    @DisplayName("Only requested fields are decoded")
+    void testFieldSelection() {
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamResponse day = day(DATE, CHENNAI, "Ekadasi", Thithi.Paksha.SHUKLA);
+        store.put(DATE, CHENNAI, day);
+
+        EnumSet<PanchangamField> fields = EnumSet.of(PanchangamField.THITHI, PanchangamField.FOOD_STATUS);
+        assertEquals(day.select(fields), store.get(DATE, CHENNAI, fields));
+    }
+
+    @Test
+    @DisplayName("Days that do not encode exactly are refused")
+    void testRefusesUnencodable() {
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamResponse day = day(DATE, CHENNAI, "Ekadasi", Thithi.Paksha.SHUKLA);
+        PanchangamResponse unknownStar = new PanchangamResponse(DATE, day.tamilDate(),
+                new Nakshatram("Unknown", day.nakshatram().endTime(), "Moon"),
+                day.thithi(), day.yogam(), day.karanam(), day.timings(), day.foodStatus());
+
+        assertFalse(store.put(DATE, CHENNAI, unknownStar));
+        assertFalse(store.put(DATE, CHENNAI, day.select(EnumSet.of(PanchangamField.THITHI))));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Clock eviction keeps recently read days")
+    void testClockEviction() {
+        CompactPanchangamStore store = new CompactPanchangamStore(4, timingsCalculator);
+        for (int i = 0; i < 4; i++) {
+            store.put(DATE.plusDays(i), CHENNAI, day(DATE.plusDays(i), CHENNAI, "Navami", Thithi.Paksha.SHUKLA));
+        }
+        // First pass clears every referenced bit; reading day 0 sets it again
+        store.put(DATE.plusDays(4), CHENNAI, day(DATE.plusDays(4), CHENNAI, "Navami", Thithi.Paksha.SHUKLA));
+        assertNotNull(store.get(DATE, CHENNAI, PanchangamField.ALL));
+        store.put(DATE.plusDays(5), CHENNAI, day(DATE.plusDays(5), CHENNAI, "Navami", Thithi.Paksha.SHUKLA));
+
+        assertEquals(4, store.size());
+        assertTrue(store.contains(DATE, CHENNAI), "Recently read day should survive");
+        assertTrue(store.contains(DATE.plusDays(5), CHENNAI));
+        for (int i = 0; i <= 5; i++) {
+            PanchangamResponse stored = store.get(DATE.plusDays(i), CHENNAI, PanchangamField.ALL);
+            if (stored != null) {
+                assertEquals(DATE.plusDays(i), stored.date(), "Probe runs must stay intact after deletes");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cache keeps full days off-heap and partial ones on the heap")
+    void testCacheRouting() {
+        CompactPanchangamStore store = new CompactPanchangamStore(100, timingsCalculator);
+        PanchangamCache cache = new PanchangamCache(10, store);
+        PanchangamResponse day = day(DATE, CHENNAI, "Dasami", Thithi.Paksha.SHUKLA);
+        EnumSet<PanchangamField> foodOnly = EnumSet.of(PanchangamField.FOOD_STATUS);
+
+        cache.put(DATE, CHENNAI, PanchangamField.ALL, day);
+        cache.put(DATE.plusDays(1), CHENNAI, foodOnly, day.select(foodOnly));
+
+        assertEquals(1, store.size());
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsFull(DATE, CHENNAI));
+        assertEquals(day, cache.get(DATE, CHENNAI, PanchangamField.ALL));
+        assertEquals(day.select(foodOnly), cache.get(DATE, CHENNAI, foodOnly));
+        assertNull(cache.get(DATE.plusDays(1), CHENNAI, PanchangamField.ALL));
+    }
+
+    @Test
+    @DisplayName("A disabled store holds nothing")
+    void testDisabled() {
+        CompactPanchangamStore store = CompactPanchangamStore.disabled();
+        assertFalse(store.isEnabled());
+        assertFalse(store.put(DATE, CHENNAI, day(DATE, CHENNAI, "Navami", Thithi.Paksha.SHUKLA)));
+        assertEquals(0, store.memoryBytes());
+    }
+
+    private PanchangamResponse day(LocalDate date, LocationKey location, String thithi, Thithi.Paksha paksha) {
+        ZonedDateTime midnight = date.atStartOfDay(ZoneId.of(location.timezone()));
+        ZonedDateTime sunrise = midnight.withHour(6).withMinute(31).withSecond(12);
+        ZonedDateTime sunset = midnight.withHour(17).withMinute(58).withSecond(40);
+        Thithi dayThithi = new Thithi(thithi, paksha, midnight.plusHours(30).plusMinutes(5).plusNanos(1));
+        return new PanchangamResponse(
+                date,
+                new TamilDate("Margazhi", 20, "Vishvavasu", "Nyairu"),
+                new Nakshatram("Rohini", midnight.plusHours(14).plusNanos(123_456_789), "Moon"),
+                dayThithi,
+                new Yogam("Siddhi", Yogam.YogamType.AUSPICIOUS, midnight.minusHours(3), midnight.plusHours(20)),
+                new Karanam("Bava", midnight.plusHours(9).plusSeconds(7)),
+                timingsCalculator.calculate(sunrise, sunset, date.getDayOfWeek()),
+                FoodStatus.forThithi(ThithiCalculator.numberOf(dayThithi)));
+    }
+}
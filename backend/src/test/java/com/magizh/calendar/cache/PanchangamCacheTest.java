@@ -0,0 +1,90 @@
+package com.magizh.calendar.cache;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PanchangamCache.
+ *
+ * Verifies that field subsets are served correctly: subsets from a cached
+ * full entry, but never a fuller response from a sparse entry.
+ */
+@DisplayName("PanchangamCache Tests")
+class PanchangamCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 4);
+    private static final LocationKey CHENNAI = LocationKey.of(13.0827, 80.2707, "Asia/Kolkata");
+
+    @Test
+    @DisplayName("Nearby coordinates share a location key")
+    void testLocationQuantization() {
+        assertEquals(CHENNAI, LocationKey.of(13.0839, 80.2701, "Asia/Kolkata"));
+        assertNotEquals(CHENNAI, LocationKey.of(13.0827, 80.2707, "UTC"));
+        assertEquals(13.08, CHENNAI.latitude(), 1e-9);
+        assertEquals(80.27, CHENNAI.longitude(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Subsets are projected from a full entry")
+    void testSubsetFromFullEntry() {
+        PanchangamCache cache = new PanchangamCache(10);
+        cache.put(DATE, CHENNAI, PanchangamField.ALL, fullResponse());
+
+        PanchangamResponse subset = cache.get(DATE, CHENNAI, EnumSet.of(PanchangamField.FOOD_STATUS));
+        assertNotNull(subset);
+        assertNotNull(subset.foodStatus());
+        assertNull(subset.tamilDate(), "Unrequested fields should be dropped");
+    }
+
+    @Test
+    @DisplayName("Sparse entries never satisfy a fuller request")
+    void testSparseEntryIsolation() {
+        PanchangamCache cache = new PanchangamCache(10);
+        Set<PanchangamField> foodOnly = EnumSet.of(PanchangamField.FOOD_STATUS);
+        cache.put(DATE, CHENNAI, foodOnly, fullResponse().select(foodOnly));
+
+        assertNull(cache.get(DATE, CHENNAI, PanchangamField.ALL));
+        assertNull(cache.get(DATE, CHENNAI, EnumSet.of(PanchangamField.FOOD_STATUS, PanchangamField.TAMIL_DATE)));
+        assertNotNull(cache.get(DATE, CHENNAI, foodOnly));
+    }
+
+    @Test
+    @DisplayName("Oldest entries are evicted beyond capacity")
+    void testEviction() {
+        PanchangamCache cache = new PanchangamCache(2);
+        for (int i = 0; i < 3; i++) {
+            cache.put(DATE.plusDays(i), CHENNAI, PanchangamField.ALL, fullResponse());
+        }
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(DATE, CHENNAI, PanchangamField.ALL), "First insertion should be evicted");
+        assertNotNull(cache.get(DATE.plusDays(2), CHENNAI, PanchangamField.ALL));
+    }
+
+    @Test
+    @DisplayName("containsFull sees only full entries and is not counted as a lookup")
+    void testContainsFull() {
+        PanchangamCache cache = new PanchangamCache(10);
+        Set<PanchangamField> foodOnly = EnumSet.of(PanchangamField.FOOD_STATUS);
+        cache.put(DATE, CHENNAI, foodOnly, fullResponse().select(foodOnly));
+        assertFalse(cache.containsFull(DATE, CHENNAI));
+
+        cache.put(DATE, CHENNAI, PanchangamField.ALL, fullResponse());
+        assertTrue(cache.containsFull(DATE, CHENNAI));
+        assertEquals(0, cache.hitCount() + cache.missCount());
+    }
+
+    private PanchangamResponse fullResponse() {
+        return new PanchangamResponse(DATE, TamilDate.sample(), null, null, null, null, null, FoodStatus.regular());
+    }
+}
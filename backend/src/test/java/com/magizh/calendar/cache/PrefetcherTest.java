@@ -0,0 +1,113 @@
+package com.magizh.calendar.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Prefetcher Tests")
+class PrefetcherTest {
+
+    private static final LocationKey CHENNAI = LocationKey.of(13.0827, 80.2707, "Asia/Kolkata");
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Prefetcher prefetcher;
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.shutdown();
+    }
+
+    private double count(String outcome) {
+        return registry.get("panchangam.prefetch").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Full queue drops new tasks instead of blocking")
+    void testDropsWhenFull() throws InterruptedException {
+        prefetcher = new Prefetcher(true, 1, 1, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        assertTrue(prefetcher.submit(DAY, CHENNAI, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(prefetcher.submit(DAY.plusDays(1), CHENNAI, () -> true)); // Waits in the queue
+        assertFalse(prefetcher.submit(DAY.plusDays(2), CHENNAI, () -> true)); // Queue full
+
+        release.countDown();
+        assertEquals(2.0, count("queued"));
+        assertEquals(1.0, count("dropped"));
+    }
+
+    @Test
+    @DisplayName("A day already queued is not queued again")
+    void testDeduplicates() throws InterruptedException {
+        prefetcher = new Prefetcher(true, 1, 8, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(prefetcher.submit(DAY, CHENNAI, () -> {
+            runs.incrementAndGet();
+            awaitQuietly(release);
+            return true;
+        }));
+        assertFalse(prefetcher.submit(DAY, CHENNAI, () -> runs.incrementAndGet() > 0));
+
+        release.countDown();
+        awaitIdle();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("First cache hit on a prefetched day counts as a prefetch hit")
+    void testHitRate() throws InterruptedException {
+        prefetcher = new Prefetcher(true, 1, 8, registry);
+        prefetcher.submit(DAY, CHENNAI, () -> true);
+        prefetcher.submit(DAY.plusDays(1), CHENNAI, () -> false); // Was cached meanwhile
+        awaitIdle();
+
+        prefetcher.recordHit(DAY, CHENNAI);
+        prefetcher.recordHit(DAY, CHENNAI);
+        prefetcher.recordHit(DAY.plusDays(1), CHENNAI);
+
+        assertEquals(1.0, count("computed"));
+        assertEquals(1.0, count("skipped"));
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    @DisplayName("Disabled prefetcher runs nothing")
+    void testDisabled() {
+        prefetcher = Prefetcher.disabled();
+        assertFalse(prefetcher.isEnabled());
+        assertFalse(prefetcher.submit(DAY, CHENNAI, () -> fail("must not run")));
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((count("computed") + count("skipped") < count("queued") || prefetcher.queueSize() > 0)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
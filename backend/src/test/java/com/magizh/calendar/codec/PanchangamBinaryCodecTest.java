@@ -0,0 +1,122 @@
+package com.magizh.calendar.codec;
+
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.Karanam;
+import com.magizh.calendar.model.Nakshatram;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import com.magizh.calendar.model.TamilDate;
+import com.magizh.calendar.model.Thithi;
+import com.magizh.calendar.model.Timings;
+import com.magizh.calendar.model.Yogam;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the binary panchangam encoding.
+ */
+@DisplayName("PanchangamBinaryCodec Tests")
+class PanchangamBinaryCodecTest {
+
+    private static final ZoneId CHENNAI_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private PanchangamResponse sampleDay(LocalDate date, ZoneId zone) {
+        ZonedDateTime base = date.atStartOfDay(zone);
+        return new PanchangamResponse(
+                date,
+                TamilDate.sample(),
+                Nakshatram.sample(base),
+                new Thithi("Amavasai", Thithi.Paksha.KRISHNA, base.withHour(16).withMinute(30)),
+                Yogam.sampleAuspicious(base),
+                Karanam.sample(base),
+                Timings.sample(base),
+                FoodStatus.regular()
+        );
+    }
+
+    private byte[] encode(List<PanchangamResponse> days) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PanchangamBinaryCodec.write(days, out);
+        return out.toByteArray();
+    }
+
+    private List<PanchangamResponse> decode(byte[] payload) throws IOException {
+        return PanchangamBinaryCodec.read(new ByteArrayInputStream(payload));
+    }
+
+    @Test
+    @DisplayName("Full days survive a round trip")
+    void testRoundTrip() throws IOException {
+        List<PanchangamResponse> week = List.of(
+                sampleDay(LocalDate.of(2026, 1, 3), CHENNAI_ZONE),
+                sampleDay(LocalDate.of(2026, 1, 4), CHENNAI_ZONE));
+
+        assertEquals(week, decode(encode(week)));
+    }
+
+    @Test
+    @DisplayName("Sparse days keep absent fields absent")
+    void testSparseRoundTrip() throws IOException {
+        PanchangamResponse sparse = sampleDay(LocalDate.of(2026, 1, 3), CHENNAI_ZONE)
+                .select(EnumSet.of(PanchangamField.NAKSHATRAM, PanchangamField.TIMINGS));
+
+        PanchangamResponse decoded = decode(encode(List.of(sparse))).get(0);
+
+        assertEquals(sparse, decoded);
+        assertNull(decoded.thithi());
+        assertNull(decoded.foodStatus());
+    }
+
+    @Test
+    @DisplayName("Instants are preserved across a DST change")
+    void testDaylightSaving() throws IOException {
+        // US clocks move forward on 8 March 2026
+        PanchangamResponse day = sampleDay(LocalDate.of(2026, 3, 8), ZoneId.of("America/New_York"));
+
+        assertEquals(day, decode(encode(List.of(day))).get(0));
+    }
+
+    @Test
+    @DisplayName("A full day encodes to a few hundred bytes")
+    void testCompactness() throws IOException {
+        byte[] payload = encode(List.of(sampleDay(LocalDate.of(2026, 1, 3), CHENNAI_ZONE)));
+
+        assertTrue(payload.length < 256, "Payload was " + payload.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Foreign payloads are rejected")
+    void testBadMagic() {
+        assertThrows(IOException.class, () -> decode(new byte[]{'{', '}', 1}));
+    }
+
+    @Test
+    @DisplayName("The converter only takes panchangam bodies")
+    void testConverterTypes() throws NoSuchMethodException {
+        assertTrue(PanchangamBinaryHttpMessageConverter.isPanchangamType(PanchangamResponse.class));
+        assertTrue(PanchangamBinaryHttpMessageConverter.isPanchangamType(
+                getClass().getDeclaredMethod("days").getGenericReturnType()));
+        assertFalse(PanchangamBinaryHttpMessageConverter.isPanchangamType(
+                getClass().getDeclaredMethod("names").getGenericReturnType()));
+        assertFalse(PanchangamBinaryHttpMessageConverter.isPanchangamType(List.class));
+    }
+
+    private List<PanchangamResponse> days() {
+        return List.of();
+    }
+
+    private List<String> names() {
+        return List.of();
+    }
+}
@@ -0,0 +1,90 @@
+package com.magizh.calendar.observability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccessLog. The writer thread is not started;
+ * tests drain explicitly.
+ */
+@DisplayName("Access Log Tests")
+class AccessLogTest {
+
+    private final List<String> lines = new ArrayList<>();
+
+    private RequestStats stats(boolean... lookups) {
+        RequestStats stats = RequestStats.open();
+        for (boolean hit : lookups) {
+            RequestStats.recordCacheLookup(hit);
+        }
+        RequestStats.recordComputeUnits(7);
+        RequestStats.close();
+        return stats;
+    }
+
+    @Test
+    @DisplayName("Records are written as logfmt lines")
+    void testFormat() {
+        AccessLog log = new AccessLog(16, 100, 1000, lines::add);
+
+        log.record("GET", "/api/panchangam/daily", 200, 812_345, stats(true));
+        log.record("GET", "/api/panchangam/weekly", 200, 2_000_000, stats(true, false));
+        log.record("GET", "/api/panchangam/health", 200, 1_000, null);
+
+        assertEquals(3, log.drain());
+        assertEquals("method=GET path=/api/panchangam/daily status=200 duration_ns=812345 cache=hit units=7", lines.get(0));
+        assertTrue(lines.get(1).contains("cache=partial"));
+        assertTrue(lines.get(2).endsWith("cache=- units=-"));
+        assertEquals(0, log.drain());
+    }
+
+    @Test
+    @DisplayName("A full ring drops and counts new records")
+    void testOverflow() {
+        AccessLog log = new AccessLog(4, 100, 1000, lines::add);
+
+        for (int i = 0; i < 6; i++) {
+            log.record("GET", "/p" + i, 200, 1, null);
+        }
+
+        assertEquals(2, log.droppedCount());
+        assertEquals(4, log.drain());
+        assertEquals("/p0", lines.get(0).split(" ")[1].substring(5), "Oldest records are kept");
+
+        log.record("GET", "/again", 200, 1, null);
+        assertEquals(1, log.drain(), "Space is reclaimed after draining");
+    }
+
+    @Test
+    @DisplayName("Concurrent producers lose nothing while the ring has room")
+    void testConcurrentProducers() throws InterruptedException {
+        AccessLog log = new AccessLog(8192, 100, 1000, lines::add);
+        int threads = 8;
+        int perThread = 500;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    log.record("GET", "/x", 200, i, null);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+
+        int drained = 0;
+        int batch;
+        while ((batch = log.drain()) > 0) {
+            drained += batch;
+        }
+        assertEquals(threads * perThread, drained);
+        assertEquals(0, log.droppedCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.magizh.calendar.observability;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.model.PanchangamField;
+import com.magizh.calendar.model.PanchangamResponse;
+import jdk.jfr.Enabled;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the custom JFR events are registered and carry their fields.
+ */
+@DisplayName("JFR Events Tests")
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<RecordedEvent> record(String eventName, Runnable work) throws IOException {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Cache lookups record cache, key and outcome")
+    void testCacheLookupEvents() throws IOException {
+        PanchangamCache cache = new PanchangamCache(10);
+        LocalDate date = LocalDate.of(2026, 1, 4);
+        LocationKey chennai = LocationKey.of(13.0827, 80.2707, "Asia/Kolkata");
+        PanchangamResponse response = new PanchangamResponse(date, null, null, null, null, null, null, null);
+
+        List<RecordedEvent> events = record("com.magizh.CacheLookup", () -> {
+            cache.get(date, chennai, PanchangamField.ALL);
+            cache.put(date, chennai, PanchangamField.ALL, response);
+            cache.get(date, chennai, PanchangamField.ALL);
+        });
+
+        assertEquals(2, events.size());
+        assertFalse(events.get(0).getBoolean("hit"));
+        assertTrue(events.get(1).getBoolean("hit"));
+        assertEquals("panchangam", events.get(1).getString("cache"));
+        assertTrue(events.get(1).getString("key").startsWith("2026-01-04@"));
+    }
+
+    @Test
+    @DisplayName("Solver runs record their result fields")
+    void testSolverRunEvent() throws IOException {
+        List<RecordedEvent> events = record("com.magizh.SolverRun", () -> {
+            SolverRunEvent event = new SolverRunEvent();
+            event.begin();
+            event.complete("moon_longitude", 120.0, 10, 86_400_000L, true);
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("moon_longitude", events.get(0).getString("solver"));
+        assertEquals(10, events.get(0).getInt("iterations"));
+        assertEquals(86_400_000L, events.get(0).getLong("bracketMillis"));
+    }
+
+    @Test
+    @DisplayName("Ephemeris call events are off unless a recording enables them")
+    void testEphemerisCallDisabledByDefault() {
+        assertFalse(EphemerisCallEvent.class.getAnnotation(Enabled.class).value());
+    }
+}
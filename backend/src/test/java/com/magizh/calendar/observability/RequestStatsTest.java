@@ -0,0 +1,73 @@
+package com.magizh.calendar.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestStats stage accounting and the Server-Timing header.
+ */
+@DisplayName("Request Stats Tests")
+class RequestStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestStats.close();
+    }
+
+    @Test
+    @DisplayName("Ephemeris calls are attributed to the innermost stage")
+    void testStages() {
+        RequestStats stats = RequestStats.open();
+
+        RequestStats.time(Stage.SUNRISE, () -> {
+            RequestStats.recordEphemerisCall();
+            return null;
+        });
+        RequestStats.time(Stage.TIMINGS, () -> {
+            RequestStats.recordEphemerisCall();
+            return RequestStats.time(Stage.YOGAM, () -> {
+                RequestStats.recordEphemerisCall();
+                RequestStats.recordEphemerisCall();
+                return null;
+            });
+        });
+        RequestStats.recordEphemerisCall(); // outside any stage
+
+        assertEquals(1, stats.stageEphemerisCalls(Stage.SUNRISE));
+        assertEquals(1, stats.stageEphemerisCalls(Stage.TIMINGS));
+        assertEquals(2, stats.stageEphemerisCalls(Stage.YOGAM));
+        assertEquals(5, stats.ephemerisCalls());
+        assertTrue(stats.stageNanos(Stage.TIMINGS) >= stats.stageNanos(Stage.YOGAM), "Nested time counts for both");
+        assertEquals(0, stats.stageNanos(Stage.THITHI));
+    }
+
+    @Test
+    @DisplayName("Header lists stages that ran, then the total")
+    void testHeader() {
+        RequestStats stats = RequestStats.open();
+        RequestStats.time(Stage.CACHE, () -> null);
+        RequestStats.time(Stage.FOOD_STATUS, () -> {
+            RequestStats.recordEphemerisCall();
+            return null;
+        });
+
+        String header = stats.serverTimingHeader();
+
+        assertTrue(header.matches(
+                "cache;dur=\\d+\\.\\d{3};desc=\"ephem=0\", "
+                        + "foodStatus;dur=\\d+\\.\\d{3};desc=\"ephem=1\", "
+                        + "total;dur=\\d+\\.\\d{3};desc=\"ephem=1\""), header);
+    }
+
+    @Test
+    @DisplayName("Without an open request, work runs and nothing is recorded")
+    void testNoRequest() {
+        assertNull(RequestStats.current());
+        assertEquals("done", RequestStats.time(Stage.YOGAM, () -> "done"));
+        RequestStats.recordEphemerisCall();
+        RequestStats.recordCacheLookup(true);
+    }
+}
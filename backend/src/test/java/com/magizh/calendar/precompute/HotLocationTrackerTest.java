@@ -0,0 +1,145 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.PanchangamService;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hot Location Tracker Tests")
+class HotLocationTrackerTest {
+
+    private static final City CHENNAI = new City("Chennai", 13.0827, 80.2707, "Asia/Kolkata");
+    private static final LocationKey EDISON = LocationKey.of(40.52, -74.41, "America/New_York");
+    private static final LocationKey SCARBOROUGH = LocationKey.of(43.77, -79.26, "America/Toronto");
+
+    private PrecomputeService precompute;
+    private HotLocationTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AstronomyService astronomyService = new AstronomyService(registry);
+        astronomyService.init();
+        PanchangamCache cache = new PanchangamCache(1000);
+        PanchangamService panchangamService = new PanchangamService(
+                astronomyService,
+                new NakshatramCalculator(astronomyService),
+                new ThithiCalculator(astronomyService),
+                new YogamCalculator(astronomyService, registry),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService),
+                cache,
+                registry
+        );
+        CityProperties cities = new CityProperties(List.of(CHENNAI));
+        precompute = new PrecomputeService(panchangamService, cache, cities, true, 0, 1, 1, 1);
+        tracker = new HotLocationTracker(precompute, cities, true, 256, 4, 2, 10, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        precompute.shutdown();
+    }
+
+    private void request(LocationKey location, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(location.latitude(), location.longitude(), location.timezone());
+        }
+    }
+
+    @Test
+    @DisplayName("Sketch never undercounts and stays close for a skewed stream")
+    void testSketchEstimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (long key = 0; key < 2000; key++) {
+            for (int i = 0; i < (key < 10 ? 500 : 1); i++) {
+                sketch.add(key);
+            }
+        }
+        for (long key = 0; key < 10; key++) {
+            int estimate = sketch.estimate(key);
+            assertTrue(estimate >= 500 && estimate < 520, "estimate " + estimate);
+        }
+        assertTrue(sketch.estimate(12345) < 20);
+        assertEquals(4 * 1024 * Integer.BYTES, sketch.memoryBytes());
+
+        sketch.halve();
+        assertTrue(sketch.estimate(0) >= 250 && sketch.estimate(0) < 260);
+    }
+
+    @Test
+    @DisplayName("Heavy locations are promoted into the precompute set, light ones are not")
+    void testPromotes() {
+        request(EDISON, 20);
+        request(SCARBOROUGH, 5);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(-30 + i * 0.5, 20 + i * 0.5, "UTC");
+        }
+
+        tracker.rebalance();
+
+        assertEquals(Set.of(EDISON), tracker.promoted());
+        assertEquals(Set.of(EDISON), precompute.hotLocations());
+    }
+
+    @Test
+    @DisplayName("Promoted locations are demoted once their counts decay")
+    void testDemotes() {
+        request(EDISON, 20);
+        tracker.rebalance();
+        assertTrue(tracker.promoted().contains(EDISON));
+
+        // 20 -> 10 -> 5 -> 2: still above the demote threshold until the third halving
+        tracker.rebalance();
+        tracker.rebalance();
+        assertTrue(tracker.promoted().contains(EDISON));
+        tracker.rebalance();
+        assertFalse(tracker.promoted().contains(EDISON));
+    }
+
+    @Test
+    @DisplayName("Configured cities are not tracked and the promoted set is capped")
+    void testCitiesAndCap() {
+        request(LocationKey.of(CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone()), 50);
+        request(EDISON, 30);
+        request(SCARBOROUGH, 20);
+        request(LocationKey.of(51.56, -0.28, "Europe/London"), 15);
+
+        tracker.rebalance();
+
+        assertEquals(Set.of(EDISON, SCARBOROUGH), tracker.promoted());
+        assertFalse(tracker.topLocations().containsKey(LocationKey.of(CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone())));
+        assertEquals(EDISON, tracker.topLocations().keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Top-K table stays bounded however many locations arrive")
+    void testBoundedTopK() {
+        for (int i = 0; i < 5000; i++) {
+            tracker.record(-60 + (i % 120), -170 + (i / 120) * 0.1, "UTC");
+        }
+        request(EDISON, 100);
+        assertTrue(tracker.topLocations().size() <= 4);
+        assertTrue(tracker.topLocations().containsKey(EDISON));
+    }
+}
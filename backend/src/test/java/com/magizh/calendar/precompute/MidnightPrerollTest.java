@@ -0,0 +1,114 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.PanchangamService;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Midnight Pre-roll Tests")
+class MidnightPrerollTest {
+
+    private static final City CHENNAI = new City("Chennai", 13.0827, 80.2707, "Asia/Kolkata");
+    private static final LocationKey EDISON = LocationKey.of(40.52, -74.41, "America/New_York");
+
+    private PanchangamCache cache;
+    private PrecomputeService precompute;
+    private HotLocationTracker tracker;
+    private MidnightPreroll preroll;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AstronomyService astronomyService = new AstronomyService(registry);
+        astronomyService.init();
+        cache = new PanchangamCache(1000);
+        PanchangamService panchangamService = new PanchangamService(
+                astronomyService,
+                new NakshatramCalculator(astronomyService),
+                new ThithiCalculator(astronomyService),
+                new YogamCalculator(astronomyService, registry),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService),
+                cache,
+                registry
+        );
+        CityProperties cities = new CityProperties(List.of(CHENNAI));
+        precompute = new PrecomputeService(panchangamService, cache, cities, true, 0, 0, 0, 1);
+        tracker = new HotLocationTracker(precompute, cities, true, 256, 8, 4, 10, 4);
+        preroll = new MidnightPreroll(panchangamService, precompute, tracker, cities, registry, true, 40);
+    }
+
+    @AfterEach
+    void tearDown() {
+        precompute.shutdown();
+    }
+
+    private void awaitPool() {
+        assertTrue(precompute.pool().awaitQuiescence(30, TimeUnit.SECONDS));
+    }
+
+    private static LocationKey chennai() {
+        return LocationKey.of(CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone());
+    }
+
+    @Test
+    @DisplayName("Tomorrow is cached ahead of local midnight, only in zones within the lead time")
+    void testPrerollsZonesNearMidnight() {
+        tracker.record(EDISON.latitude(), EDISON.longitude(), EDISON.timezone());
+
+        // 23:50 in Chennai, 13:20 in New York
+        assertEquals(1, preroll.tick(Instant.parse("2026-01-15T18:20:00Z")));
+        awaitPool();
+
+        assertTrue(cache.containsFull(LocalDate.of(2026, 1, 16), chennai()));
+        assertFalse(cache.containsFull(LocalDate.of(2026, 1, 16), EDISON));
+
+        // Already queued for this rollover
+        assertEquals(0, preroll.tick(Instant.parse("2026-01-15T18:25:00Z")));
+    }
+
+    @Test
+    @DisplayName("Midnight follows DST: New York after falling back is UTC-5")
+    void testFollowsDst() {
+        tracker.record(EDISON.latitude(), EDISON.longitude(), EDISON.timezone());
+
+        // 23:40 EST on Nov 1; the same instant would be 00:40 Nov 2 at the summer offset
+        assertTrue(preroll.tick(Instant.parse("2026-11-02T04:40:00Z")) >= 1);
+        awaitPool();
+
+        assertTrue(cache.containsFull(LocalDate.of(2026, 11, 2), EDISON));
+    }
+
+    @Test
+    @DisplayName("Work is spread over the first three quarters of the lead time")
+    void testSpreadsWork() {
+        Duration lead = Duration.ofMinutes(40);
+        assertEquals(1, preroll.dueCount(30, Duration.ZERO));
+        assertEquals(15, preroll.dueCount(30, lead.multipliedBy(3).dividedBy(8)));
+        assertEquals(30, preroll.dueCount(30, lead.multipliedBy(3).dividedBy(4)));
+        assertEquals(30, preroll.dueCount(30, lead));
+    }
+}
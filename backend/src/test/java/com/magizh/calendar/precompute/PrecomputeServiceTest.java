@@ -0,0 +1,107 @@
+package com.magizh.calendar.precompute;
+
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.PanchangamService;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Precompute Service Tests")
+class PrecomputeServiceTest {
+
+    private static final City CHENNAI = new City("Chennai", 13.0827, 80.2707, "Asia/Kolkata");
+    private static final City LONDON = new City("London", 51.5074, -0.1278, "Europe/London");
+
+    private PanchangamService panchangamService;
+    private PanchangamCache cache;
+    private PrecomputeService precompute;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AstronomyService astronomyService = new AstronomyService(registry);
+        astronomyService.init();
+        cache = new PanchangamCache(1000);
+        panchangamService = new PanchangamService(
+                astronomyService,
+                new NakshatramCalculator(astronomyService),
+                new ThithiCalculator(astronomyService),
+                new YogamCalculator(astronomyService, registry),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService),
+                cache,
+                registry
+        );
+        precompute = new PrecomputeService(panchangamService, cache,
+                new CityProperties(List.of(CHENNAI, LONDON)), true, 1, 3, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        precompute.shutdown();
+    }
+
+    @Test
+    @DisplayName("Refresh caches the whole window for every city")
+    void testRefreshFillsWindow() {
+        assertEquals(0.0, precompute.progress().coverage());
+
+        assertEquals(10, precompute.refresh());
+
+        PrecomputeProgress progress = precompute.progress();
+        assertFalse(progress.running());
+        assertEquals(10, progress.total());
+        assertEquals(10, progress.done());
+        assertEquals(1.0, progress.coverage());
+        assertEquals(1.0, progress.coverageByCity().get(CHENNAI.slug()));
+        assertEquals(1.0, progress.coverageByCity().get(LONDON.slug()));
+
+        LocalDate today = LocalDate.now(ZoneId.of(CHENNAI.timezone()));
+        LocationKey chennai = LocationKey.of(CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone());
+        assertTrue(cache.containsFull(today.minusDays(1), chennai));
+        assertTrue(cache.containsFull(today.plusDays(3), chennai));
+        assertFalse(cache.containsFull(today.plusDays(4), chennai));
+    }
+
+    @Test
+    @DisplayName("A second refresh computes only missing days")
+    void testRefreshSkipsCachedDays() {
+        LocalDate today = LocalDate.now(ZoneId.of(LONDON.timezone()));
+        panchangamService.precomputeDailyPanchangam(today, LONDON.lat(), LONDON.lng(), LONDON.timezone());
+
+        assertEquals(9, precompute.refresh());
+        assertEquals(0, precompute.refresh());
+    }
+
+    @Test
+    @DisplayName("Precomputed days are served as cache hits without counting requests")
+    void testPrecomputeDoesNotCountRequests() {
+        precompute.refresh();
+        assertEquals(0, cache.hitCount() + cache.missCount());
+
+        LocalDate today = LocalDate.now(ZoneId.of(CHENNAI.timezone()));
+        panchangamService.getDailyPanchangam(today, CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone());
+        assertEquals(1, cache.hitCount());
+        assertEquals(0, cache.missCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.magizh.calendar.ratelimit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for Redis, speaking just enough RESP2 for the
+ * rate limit store: PING, GET, INCRBY and PEXPIRE (expiry is ignored).
+ */
+class FakeRespServer implements Closeable {
+
+    private final ServerSocket server;
+    private final Map<String, Long> values = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> commandCounts = new ConcurrentHashMap<>();
+
+    FakeRespServer() throws IOException {
+        server = new ServerSocket(0);
+        Thread.ofVirtual().start(this::acceptLoop);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    int commandCount(String command) {
+        AtomicInteger count = commandCounts.get(command);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                String[] command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                String name = command[0].toUpperCase();
+                commandCounts.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+                String reply = switch (name) {
+                    case "PING" -> "+PONG";
+                    case "INCRBY" -> ":" + values.merge(command[1], Long.parseLong(command[2]), Long::sum);
+                    case "PEXPIRE" -> ":" + (values.containsKey(command[1]) ? 1 : 0);
+                    case "GET" -> {
+                        Long value = values.get(command[1]);
+                        yield value == null ? "$-1" : "$" + value.toString().length() + "\r\n" + value;
+                    }
+                    default -> "-ERR unknown command '" + command[0] + "'";
+                };
+                out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static String[] readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        String[] args = new String[Integer.parseInt(header.substring(1))];
+        for (int i = 0; i < args.length; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            args[i] = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+            readLine(in);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                return null;
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+}
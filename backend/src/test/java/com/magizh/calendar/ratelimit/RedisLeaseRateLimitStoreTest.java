@@ -0,0 +1,125 @@
+package com.magizh.calendar.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RedisLeaseRateLimitStore against an in-process RESP server.
+ * The clock is fixed inside one minute window.
+ */
+@DisplayName("Redis Lease Rate Limit Store Tests")
+class RedisLeaseRateLimitStoreTest {
+
+    private static final long NOW = 1_800_000_015_000L; // 15 s into a minute
+
+    private FakeRespServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRespServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    private RedisLeaseRateLimitStore node(int port) {
+        return new RedisLeaseRateLimitStore(new RespClient("localhost", port, 500),
+                new TokenBucketRateLimiter(1000, 600), 0.1, 5000, () -> NOW);
+    }
+
+    @Test
+    @DisplayName("Nodes share one budget and never exceed it")
+    void testSharedBudget() {
+        RedisLeaseRateLimitStore a = node(server.port());
+        RedisLeaseRateLimitStore b = node(server.port());
+
+        int granted = 0;
+        for (int i = 0; i < 150; i++) {
+            RedisLeaseRateLimitStore store = i % 2 == 0 ? a : b;
+            if (store.tryConsume("key:1", 1, 100) >= 0) {
+                granted++;
+            }
+        }
+
+        assertTrue(granted <= 100, "Granted " + granted);
+        assertTrue(granted >= 80, "Leases held back too much: " + granted);
+        a.shutdown();
+        b.shutdown();
+    }
+
+    @Test
+    @DisplayName("Units are reserved in batches, not per request")
+    void testBatching() {
+        RedisLeaseRateLimitStore store = node(server.port());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(store.tryConsume("key:1", 1, 100) >= 0);
+        }
+
+        assertTrue(server.commandCount("INCRBY") <= 10,
+                "INCRBY calls: " + server.commandCount("INCRBY"));
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Rejection waits for the next window")
+    void testRetryAfter() {
+        RedisLeaseRateLimitStore store = node(server.port());
+
+        assertTrue(store.tryConsume("key:1", 10, 10) >= 0);
+        assertEquals(-45_000, store.tryConsume("key:1", 1, 10));
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Falls back to in-process limits when Redis is unreachable")
+    void testFallback() throws IOException {
+        int port = server.port();
+        server.close();
+        RedisLeaseRateLimitStore store = node(port);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(store.tryConsume("key:1", 1, 5) >= 0);
+        }
+        assertTrue(store.tryConsume("key:1", 1, 5) < 0);
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("Redis is not retried for a while after a failure")
+    void testBackoff() throws IOException {
+        int port = server.port();
+        server.close();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicLong now = new AtomicLong(NOW);
+        RespClient client = new RespClient("localhost", port, 500) {
+            @Override
+            public Object[] execute(String[]... commands) throws IOException {
+                attempts.incrementAndGet();
+                return super.execute(commands);
+            }
+        };
+        RedisLeaseRateLimitStore store = new RedisLeaseRateLimitStore(client,
+                new TokenBucketRateLimiter(1000, 600), 0.1, 5000, now::get);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(store.tryConsume("key:" + i, 1, 100) >= 0);
+        }
+        assertEquals(1, attempts.get(), "Only the first request should try Redis");
+
+        now.addAndGet(5000);
+        store.tryConsume("key:1", 1, 100);
+        assertEquals(2, attempts.get(), "Redis is probed again after the back-off");
+        store.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.magizh.calendar.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestCostCalculator.
+ */
+@DisplayName("RequestCostCalculator Tests")
+class RequestCostCalculatorTest {
+
+    private final RequestCostCalculator calculator = new RequestCostCalculator(1, 0.2, 0.1, 5, 1);
+
+    private long cost(String path, Map<String, String> parameters) {
+        return calculator.costOf(path, parameters::get);
+    }
+
+    @Test
+    @DisplayName("Daily and weekly are charged per computed day")
+    void testDailyAndWeekly() {
+        assertEquals(1, cost("/api/panchangam/daily", Map.of()));
+        assertEquals(7, cost("/api/panchangam/weekly", Map.of("startDate", "2026-01-03")));
+    }
+
+    @Test
+    @DisplayName("Month grid cost follows the grid size")
+    void testMonth() {
+        // January 2026 grid has 35 cells, May 2026 has 42
+        assertEquals(7, cost("/api/panchangam/month", Map.of("month", "2026-01")));
+        assertEquals(9, cost("/api/panchangam/month", Map.of("month", "2026-05")));
+        assertEquals(9, cost("/api/panchangam/month", Map.of()), "Unparseable month is charged the largest grid");
+    }
+
+    @Test
+    @DisplayName("Calendar exports are charged by the days they cover")
+    void testCalendar() {
+        assertEquals(37, cost("/api/panchangam/calendar/2026.ics", Map.of()));
+        assertEquals(37, cost("/api/panchangam/calendar/2024.ics", Map.of()), "366 days round up");
+        assertTrue(cost("/api/panchangam/calendar/feed.ics", Map.of()) >= 73);
+    }
+
+    @Test
+    @DisplayName("Other routes fall back to flat weights")
+    void testFlatWeights() {
+        assertEquals(5, cost("/api/panchangam/bundles/v1.1/chennai/2026.bin", Map.of()));
+        assertEquals(1, cost("/api/panchangam/bundles", Map.of()));
+        assertEquals(1, cost("/api/unknown", Map.of()));
+    }
+}
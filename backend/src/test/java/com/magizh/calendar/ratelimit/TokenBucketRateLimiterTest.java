@@ -0,0 +1,139 @@
+package com.magizh.calendar.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket and TokenBucketRateLimiter.
+ * Time is passed explicitly so refill behaviour is deterministic.
+ */
+@DisplayName("Token Bucket Rate Limiter Tests")
+class TokenBucketRateLimiterTest {
+
+    @Test
+    @DisplayName("Full bucket grants its capacity, then rejects")
+    void testCapacity() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+
+        for (int i = 59; i >= 0; i--) {
+            assertEquals(i, bucket.tryConsume(1, 60, 60, 0));
+        }
+        long rejected = bucket.tryConsume(1, 60, 60, 0);
+        assertTrue(rejected < 0);
+        assertEquals(1000, -rejected, "One token refills every second at 60/min");
+    }
+
+    @Test
+    @DisplayName("Refill is continuous rather than a window reset")
+    void testContinuousRefill() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        assertEquals(0, bucket.tryConsume(60, 60, 60, 0));
+
+        assertTrue(bucket.tryConsume(1, 60, 60, 999) < 0);
+        assertEquals(0, bucket.tryConsume(1, 60, 60, 1000));
+        assertEquals(9, bucket.tryConsume(1, 60, 60, 11_000));
+    }
+
+    @Test
+    @DisplayName("Slow rates keep partial refill between calls")
+    void testSlowRate() {
+        // 1 per minute: polling every 10 seconds must still earn a token after 60 seconds
+        TokenBucket bucket = new TokenBucket(1, 0);
+        assertEquals(0, bucket.tryConsume(1, 1, 1, 0));
+
+        for (long t = 10_000; t < 60_000; t += 10_000) {
+            assertTrue(bucket.tryConsume(1, 1, 1, t) < 0, "No token yet at " + t);
+        }
+        assertEquals(0, bucket.tryConsume(1, 1, 1, 60_000));
+    }
+
+    @Test
+    @DisplayName("Refill never exceeds capacity")
+    void testCapped() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.tryConsume(10, 60, 60, 0);
+
+        assertEquals(59, bucket.tryConsume(1, 60, 60, 3_600_000));
+    }
+
+    @Test
+    @DisplayName("Concurrent consumers never overdraw the bucket")
+    void testConcurrentConsume() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10_000, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) {
+                    if (bucket.tryConsume(1, 10_000, 10_000, 0) >= 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10_000, granted.get());
+    }
+
+    @Test
+    @DisplayName("Idle buckets are evicted once fully refilled")
+    void testIdleEviction() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 600);
+        limiter.tryConsume("ip:1", 1, 60, 0);
+        limiter.tryConsume("ip:2", 1, 60, 50_000);
+
+        limiter.evictIdle(70_000);
+
+        assertEquals(1, limiter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("Clients beyond the cap share the overflow bucket")
+    void testClientCap() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 3);
+        limiter.tryConsume("ip:1", 1, 60, 0);
+        limiter.tryConsume("ip:2", 1, 60, 0);
+
+        for (int i = 3; i < 6; i++) {
+            assertTrue(limiter.tryConsume("ip:" + i, 1, 60, 0) >= 0);
+        }
+        assertTrue(limiter.tryConsume("ip:6", 1, 60, 0) < 0, "Overflow bucket should be drained");
+        assertEquals(2, limiter.trackedClients());
+        assertEquals(4, limiter.overflowRequests());
+    }
+
+    @Test
+    @DisplayName("Registry clients never fall into the overflow bucket")
+    void testAuthenticatedClientsBypassCap() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1);
+        limiter.tryConsume("ip:1", 1, 60, 0);
+        limiter.tryConsume("ip:2", 1, 60, 0);
+        assertTrue(limiter.tryConsume("ip:3", 1, 60, 0) < 0, "Overflow bucket should be drained");
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryConsume("key:partner", 1, 60, 0) >= 0);
+        }
+        assertEquals(2, limiter.trackedClients());
+        assertEquals(2, limiter.overflowRequests());
+    }
+}
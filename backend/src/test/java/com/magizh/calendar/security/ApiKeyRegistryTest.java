@@ -0,0 +1,88 @@
+package com.magizh.calendar.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ApiKeyRegistry.
+ */
+@DisplayName("API Key Registry Tests")
+class ApiKeyRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeKeys(String content, long modifiedMs) throws IOException {
+        Path file = tempDir.resolve("keys.txt");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMs));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Built-in keys resolve to their roles")
+    void testBuiltInKeys() {
+        ApiKeyRegistry registry = new ApiKeyRegistry("ios-key", "", "dev-key", "");
+
+        assertEquals(new ApiClient("ios", "ROLE_IOS_CLIENT", "standard"), registry.lookup("ios-key"));
+        assertEquals("ROLE_DEV", registry.lookup("dev-key").role());
+        assertNull(registry.lookup(""), "Blank web key must not match an empty key");
+        assertNull(registry.lookup("unknown"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    @DisplayName("Keys file adds hashed partner keys with tiers")
+    void testKeysFile() throws IOException {
+        Path file = writeKeys("""
+                # partner keys
+                %s  acme  ROLE_PARTNER  partner
+                %s  beta  ROLE_PARTNER
+                """.formatted(ApiKeyRegistry.hash("acme-secret"), ApiKeyRegistry.hash("beta-secret")), 1_000);
+
+        ApiKeyRegistry registry = new ApiKeyRegistry("", "", "dev-key", file.toString());
+
+        assertEquals(new ApiClient("acme", "ROLE_PARTNER", "partner"), registry.lookup("acme-secret"));
+        assertEquals("standard", registry.lookup("beta-secret").tier());
+        assertNotNull(registry.lookup("dev-key"));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    @DisplayName("Changed keys file is reloaded; a broken one is ignored")
+    void testReload() throws IOException {
+        String acme = ApiKeyRegistry.hash("acme-secret");
+        Path file = writeKeys(acme + " acme ROLE_PARTNER\n", 1_000);
+        ApiKeyRegistry registry = new ApiKeyRegistry("", "", "", file.toString());
+
+        assertFalse(registry.reloadIfChanged(), "Unchanged file is not reloaded");
+
+        writeKeys(ApiKeyRegistry.hash("gamma-secret") + " gamma ROLE_PARTNER\n", 2_000);
+        assertTrue(registry.reloadIfChanged());
+        assertNull(registry.lookup("acme-secret"), "Removed key is revoked");
+        assertEquals("gamma", registry.lookup("gamma-secret").id());
+
+        writeKeys("not-a-hash gamma ROLE_PARTNER\n", 3_000);
+        assertFalse(registry.reloadIfChanged());
+        assertEquals("gamma", registry.lookup("gamma-secret").id(), "Previous keys stay active");
+    }
+
+    @Test
+    @DisplayName("Malformed lines are rejected")
+    void testParseErrors() {
+        String hash = ApiKeyRegistry.hash("k");
+        assertThrows(IllegalArgumentException.class, () -> ApiKeyRegistry.parse(List.of(hash + " acme")));
+        assertThrows(IllegalArgumentException.class, () -> ApiKeyRegistry.parse(List.of(hash + " acme PARTNER")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ApiKeyRegistry.parse(List.of(hash + " a ROLE_X", hash + " b ROLE_X")));
+    }
+}
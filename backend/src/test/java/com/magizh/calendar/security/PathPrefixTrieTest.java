@@ -0,0 +1,39 @@
+package com.magizh.calendar.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PathPrefixTrie.
+ */
+@DisplayName("Path Prefix Trie Tests")
+class PathPrefixTrieTest {
+
+    private final PathPrefixTrie trie = new PathPrefixTrie(List.of(
+            "/api/panchangam/health", "/actuator/health", "/actuator/info", "/swagger-ui", "/v3/api-docs", "/error"));
+
+    @Test
+    @DisplayName("Matches paths starting with any prefix, like String.startsWith")
+    void testMatches() {
+        assertTrue(trie.matches("/api/panchangam/health"));
+        assertTrue(trie.matches("/swagger-ui/index.html"));
+        assertTrue(trie.matches("/swagger-ui.html"));
+        assertTrue(trie.matches("/actuator/info"));
+
+        assertFalse(trie.matches("/api/panchangam/daily"));
+        assertFalse(trie.matches("/actuator"));
+        assertFalse(trie.matches("/actuator/prometheus"));
+        assertFalse(trie.matches(""));
+    }
+
+    @Test
+    @DisplayName("Empty trie matches nothing; empty prefix matches everything")
+    void testEdgeCases() {
+        assertFalse(new PathPrefixTrie(List.of()).matches("/error"));
+        assertTrue(new PathPrefixTrie(List.of("")).matches("/anything"));
+    }
+}
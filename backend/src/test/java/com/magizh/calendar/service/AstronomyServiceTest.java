@@ -1,5 +1,6 @@
 package com.magizh.calendar.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,10 +46,32 @@ class AstronomyServiceTest {
 
     @BeforeEach
     void setUp() {
-        astronomyService = new AstronomyService();
+        astronomyService = new AstronomyService(new SimpleMeterRegistry());
         astronomyService.init();
     }
 
+    @Test
+    @DisplayName("Ephemeris calls and solver iterations are recorded")
+    void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AstronomyService instrumented = new AstronomyService(registry);
+        instrumented.init();
+
+        instrumented.calculateSunrise(LocalDate.of(2026, 1, 4), CHENNAI_LAT, CHENNAI_LNG, CHENNAI_ZONE);
+        ZonedDateTime start = ZonedDateTime.of(2026, 1, 4, 6, 0, 0, 0, CHENNAI_ZONE);
+        double target = instrumented.getMoonLongitude(start) + 5;
+        assertNotNull(instrumented.findMoonAtLongitude(start, target, 24));
+
+        assertEquals(1, registry.get("ephemeris.calls").tag("function", "swe_rise_trans").counter().count());
+        assertEquals(0, registry.get("ephemeris.riseset.fallback").counter().count());
+        var iterations = registry.get("panchangam.solver.iterations").tag("solver", "moon_longitude").summary();
+        assertEquals(1, iterations.count());
+        assertEquals(10, iterations.max(), 0, "24 h bisected down to under 2 minutes");
+        // Target probe, both bracket ends and one per iteration
+        assertEquals(3 + iterations.totalAmount(),
+                registry.get("ephemeris.calls").tag("function", "swe_calc_ut").counter().count(), 0);
+    }
+
     @Test
     @DisplayName("Sunrise calculation for Chennai - January 4, 2026")
     void testSunriseChennai_Jan2026() {
@@ -0,0 +1,147 @@
+package com.magizh.calendar.service;
+
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.codec.PanchangamBinaryCodec;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.model.PanchangamResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BundleService.
+ */
+@DisplayName("BundleService Tests")
+class BundleServiceTest {
+
+    private static final City CHENNAI = new City("Chennai", 13.0827, 80.2707, "Asia/Kolkata");
+
+    @TempDir
+    Path bundleDir;
+
+    private PanchangamService panchangamService;
+    private BundleService bundleService;
+    private final LongAdder computedDays = new LongAdder();
+
+    @BeforeEach
+    void setUp() {
+        AstronomyService astronomyService = new AstronomyService(new SimpleMeterRegistry());
+        astronomyService.init();
+
+        panchangamService = new PanchangamService(
+                astronomyService,
+                new NakshatramCalculator(astronomyService),
+                new ThithiCalculator(astronomyService),
+                new YogamCalculator(astronomyService, new SimpleMeterRegistry()),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService),
+                new PanchangamCache(1000),
+                new SimpleMeterRegistry()
+        ) {
+            @Override
+            public PanchangamResponse computeDailyPanchangam(LocalDate date, double lat, double lng, String timezone) {
+                computedDays.increment();
+                return super.computeDailyPanchangam(date, lat, lng, timezone);
+            }
+        };
+
+        bundleService = new BundleService(
+                panchangamService,
+                new CityProperties(List.of(CHENNAI)),
+                bundleDir.toString(),
+                0,
+                false
+        );
+    }
+
+    @Test
+    @DisplayName("City slugs are URL-safe")
+    void testSlug() {
+        assertEquals("chennai", CHENNAI.slug());
+        assertEquals("new-delhi", new City("New Delhi", 28.6139, 77.2090, "Asia/Kolkata").slug());
+    }
+
+    @Test
+    @DisplayName("Bundle holds every day of the year in order")
+    void testGenerateYear() throws IOException {
+        List<Path> written = bundleService.generateMissing(List.of(2024));
+        assertEquals(1, written.size());
+
+        List<PanchangamResponse> days;
+        try (InputStream in = Files.newInputStream(written.get(0))) {
+            days = PanchangamBinaryCodec.read(in);
+        }
+
+        assertEquals(366, days.size(), "2024 is a leap year");
+        assertEquals(LocalDate.of(2024, 1, 1), days.get(0).date());
+        assertEquals(LocalDate.of(2024, 12, 31), days.get(365).date());
+
+        // Spot check against the live calculation
+        PanchangamResponse live = panchangamService.getDailyPanchangam(
+                LocalDate.of(2024, 6, 15), CHENNAI.lat(), CHENNAI.lng(), CHENNAI.timezone());
+        PanchangamResponse bundled = days.get(166);
+        assertEquals(live.date(), bundled.date());
+        assertEquals(live.nakshatram().name(), bundled.nakshatram().name());
+        assertEquals(live.thithi().name(), bundled.thithi().name());
+        assertEquals(live.timings().sunrise().toEpochSecond(), bundled.timings().sunrise().toEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Existing bundles are not regenerated")
+    void testGenerateMissingSkipsExisting() throws IOException {
+        Path first = bundleService.generateMissing(List.of(2025)).get(0);
+        long modified = Files.getLastModifiedTime(first).toMillis();
+
+        assertTrue(bundleService.generateMissing(List.of(2025)).isEmpty());
+        assertEquals(first, bundleService.getOrGenerate(CHENNAI, 2025));
+        assertEquals(modified, Files.getLastModifiedTime(first).toMillis());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for a missing bundle generate it once")
+    void testConcurrentRequestsGenerateOnce() throws Exception {
+        int year = bundleService.currentYears().get(0);
+        ExecutorService requests = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path>> paths = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                paths.add(requests.submit(() -> bundleService.getOrGenerate(CHENNAI, year)));
+            }
+            for (Future<Path> path : paths) {
+                assertEquals(bundleService.bundlePath(CHENNAI, year), path.get(2, TimeUnit.MINUTES));
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+
+        assertEquals(Year.of(year).length(), computedDays.sum());
+    }
+
+    @Test
+    @DisplayName("Years outside the index are not generated on request")
+    void testOnDemandLimitedToCurrentYears() {
+        int pastYear = bundleService.currentYears().get(0) - 1;
+        assertThrows(IllegalArgumentException.class, () -> bundleService.getOrGenerate(CHENNAI, pastYear));
+        assertFalse(Files.exists(bundleService.bundlePath(CHENNAI, pastYear)));
+    }
+}
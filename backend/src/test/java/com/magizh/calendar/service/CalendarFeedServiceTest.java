@@ -0,0 +1,90 @@
+package com.magizh.calendar.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalendarFeedService.
+ */
+@DisplayName("CalendarFeedService Tests")
+class CalendarFeedServiceTest {
+
+    private CalendarFeedService calendarFeedService;
+
+    // Chennai coordinates
+    private static final double CHENNAI_LAT = 13.0827;
+    private static final double CHENNAI_LNG = 80.2707;
+    private static final String CHENNAI_TZ = "Asia/Kolkata";
+
+    @BeforeEach
+    void setUp() {
+        AstronomyService astronomyService = new AstronomyService(new SimpleMeterRegistry());
+        astronomyService.init();
+
+        calendarFeedService = new CalendarFeedService(
+                astronomyService,
+                new ThithiCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService)
+        );
+    }
+
+    private String render(LocalDate from, LocalDate to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        calendarFeedService.writeFeed(out, from, to, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of CRLF-terminated content lines matching regex in full.
+     */
+    private int count(String feed, String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return (int) Arrays.stream(feed.split("\r\n"))
+                .filter(line -> pattern.matcher(line).matches())
+                .count();
+    }
+
+    @Test
+    @DisplayName("Feed is a well-formed VCALENDAR with CRLF line endings")
+    void testFeedStructure() throws IOException {
+        String feed = render(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+        assertTrue(feed.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(feed.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(count(feed, "BEGIN:VEVENT"), count(feed, "END:VEVENT"));
+        assertTrue(count(feed, "BEGIN:VEVENT") >= 31, "Every day has at least its Rahukaalam event");
+        assertFalse(feed.replace("\r\n", "").contains("\n"), "All lines should end with CRLF");
+    }
+
+    @Test
+    @DisplayName("One Rahukaalam per day and the special thithis of the month")
+    void testEvents() throws IOException {
+        String feed = render(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+        assertEquals(31, count(feed, "SUMMARY:Rahukaalam"));
+        assertTrue(count(feed, "SUMMARY:.*Ekadasi") >= 1, "January should have an Ekadasi");
+        // Thai month starts in mid-January
+        assertEquals(1, count(feed, "SUMMARY:Thai 1"));
+    }
+
+    @Test
+    @DisplayName("Rendering is deterministic")
+    void testDeterministic() throws IOException {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+
+        assertEquals(render(from, to), render(from, to));
+    }
+}
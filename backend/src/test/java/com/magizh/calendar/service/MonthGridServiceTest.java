@@ -0,0 +1,134 @@
+package com.magizh.calendar.service;
+
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.model.FoodStatus;
+import com.magizh.calendar.model.MonthGridResponse;
+import com.magizh.calendar.model.PanchangamResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MonthGridService.
+ *
+ * The grid must agree with the full daily panchangam for the names it
+ * carries, while covering whole weeks around the requested month.
+ */
+@DisplayName("MonthGridService Tests")
+class MonthGridServiceTest {
+
+    private MonthGridService monthGridService;
+    private PanchangamService panchangamService;
+
+    // Chennai coordinates
+    private static final double CHENNAI_LAT = 13.0827;
+    private static final double CHENNAI_LNG = 80.2707;
+    private static final String CHENNAI_TZ = "Asia/Kolkata";
+
+    @BeforeEach
+    void setUp() {
+        AstronomyService astronomyService = new AstronomyService(new SimpleMeterRegistry());
+        astronomyService.init();
+
+        NakshatramCalculator nakshatramCalculator = new NakshatramCalculator(astronomyService);
+        ThithiCalculator thithiCalculator = new ThithiCalculator(astronomyService);
+        TamilCalendarService tamilCalendarService = new TamilCalendarService(astronomyService);
+
+        monthGridService = new MonthGridService(
+                astronomyService,
+                nakshatramCalculator,
+                thithiCalculator,
+                tamilCalendarService
+        );
+
+        panchangamService = new PanchangamService(
+                astronomyService,
+                nakshatramCalculator,
+                thithiCalculator,
+                new YogamCalculator(astronomyService, new SimpleMeterRegistry()),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                tamilCalendarService,
+                new PanchangamCache(1000),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    @DisplayName("Grid covers whole weeks from Sunday to Saturday")
+    void testGridShape() {
+        MonthGridResponse grid = monthGridService.getMonthGrid(
+                YearMonth.of(2026, 1), CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+        // January 2026 starts on a Thursday and ends on a Saturday
+        assertEquals(LocalDate.of(2025, 12, 28), grid.startDate());
+        assertEquals(DayOfWeek.SUNDAY, grid.startDate().getDayOfWeek());
+        assertEquals(35, grid.days(), "January 2026 grid should have 5 weeks");
+
+        assertEquals(grid.days(), grid.tamilMonth().size());
+        assertEquals(grid.days(), grid.tamilDay().size());
+        assertEquals(grid.days(), grid.thithi().size());
+        assertEquals(grid.days(), grid.nakshatram().size());
+        assertEquals(grid.days(), grid.foodStatus().size());
+    }
+
+    @Test
+    @DisplayName("Six-week months produce 42 cells")
+    void testSixWeekGrid() {
+        // May 2026 starts on a Friday and has 31 days
+        MonthGridResponse grid = monthGridService.getMonthGrid(
+                YearMonth.of(2026, 5), CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+        assertEquals(42, grid.days());
+        assertEquals(DayOfWeek.SATURDAY, grid.startDate().plusDays(grid.days() - 1).getDayOfWeek());
+    }
+
+    @Test
+    @DisplayName("Grid cells match the full daily panchangam")
+    void testGridMatchesDaily() {
+        MonthGridResponse grid = monthGridService.getMonthGrid(
+                YearMonth.of(2026, 1), CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+        for (int i : new int[]{0, 7, 14, 21, 34}) {
+            LocalDate date = grid.startDate().plusDays(i);
+            PanchangamResponse daily = panchangamService.getDailyPanchangam(
+                    date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+            assertEquals(daily.tamilDate().month(), grid.tamilMonth().get(i), "Tamil month on " + date);
+            assertEquals(daily.tamilDate().day(), grid.tamilDay().get(i), "Tamil day on " + date);
+            assertEquals(daily.thithi().name(), grid.thithi().get(i), "Thithi on " + date);
+            assertEquals(daily.nakshatram().name(), grid.nakshatram().get(i), "Nakshatram on " + date);
+            assertEquals(daily.foodStatus().type(), grid.foodStatus().get(i), "Food status on " + date);
+        }
+    }
+
+    @Test
+    @DisplayName("New-moon, full-moon and Ekadasi days carry their food status")
+    void testSpecialThithiFoodStatus() {
+        // New moon on 2026-01-18 IST, full moon on 2026-01-03
+        MonthGridResponse grid = monthGridService.getMonthGrid(
+                YearMonth.of(2026, 1), CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+        int newMoons = 0;
+        for (int i = 0; i < grid.days(); i++) {
+            String thithi = grid.thithi().get(i);
+            FoodStatus.FoodType expected = switch (thithi) {
+                case "Amavasai", "Pournami" -> FoodStatus.FoodType.AVOID_NON_VEG;
+                case "Ekadasi" -> FoodStatus.FoodType.FASTING;
+                default -> FoodStatus.FoodType.REGULAR;
+            };
+            assertEquals(expected, grid.foodStatus().get(i), thithi + " on " + grid.startDate().plusDays(i));
+            if (thithi.equals("Amavasai")) {
+                newMoons++;
+            }
+        }
+        assertTrue(newMoons > 0, "January 2026 grid should contain a new-moon day");
+    }
+}
@@ -1,6 +1,7 @@
 package com.magizh.calendar.service;
 
 import com.magizh.calendar.model.Nakshatram;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,7 +34,7 @@ class NakshatramCalculatorTest {
 
     @BeforeEach
     void setUp() {
-        astronomyService = new AstronomyService();
+        astronomyService = new AstronomyService(new SimpleMeterRegistry());
         astronomyService.init();
         nakshatramCalculator = new NakshatramCalculator(astronomyService);
     }
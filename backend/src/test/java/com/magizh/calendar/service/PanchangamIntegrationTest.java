@@ -1,8 +1,13 @@
 package com.magizh.calendar.service;
 
+import com.magizh.calendar.cache.LocationKey;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.cache.Prefetcher;
+import com.magizh.calendar.model.PanchangamField;
 import com.magizh.calendar.model.PanchangamResponse;
 import com.magizh.calendar.model.Thithi.Paksha;
 import com.magizh.calendar.model.Yogam.YogamType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,9 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,26 +46,33 @@ class PanchangamIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        panchangamService = newService(new PanchangamCache(1000), Prefetcher.disabled());
+    }
+
+    private static PanchangamService newService(PanchangamCache cache, Prefetcher prefetcher) {
         // Create all required services
-        AstronomyService astronomyService = new AstronomyService();
+        AstronomyService astronomyService = new AstronomyService(new SimpleMeterRegistry());
         astronomyService.init();
 
         NakshatramCalculator nakshatramCalculator = new NakshatramCalculator(astronomyService);
         ThithiCalculator thithiCalculator = new ThithiCalculator(astronomyService);
-        YogamCalculator yogamCalculator = new YogamCalculator(astronomyService);
+        YogamCalculator yogamCalculator = new YogamCalculator(astronomyService, new SimpleMeterRegistry());
         KaranamCalculator karanamCalculator = new KaranamCalculator(astronomyService);
         GowriCalculator gowriCalculator = new GowriCalculator();
         TimingsCalculator timingsCalculator = new TimingsCalculator(gowriCalculator);
         TamilCalendarService tamilCalendarService = new TamilCalendarService(astronomyService);
 
-        panchangamService = new PanchangamService(
+        return new PanchangamService(
                 astronomyService,
                 nakshatramCalculator,
                 thithiCalculator,
                 yogamCalculator,
                 karanamCalculator,
                 timingsCalculator,
-                tamilCalendarService
+                tamilCalendarService,
+                cache,
+                prefetcher,
+                new SimpleMeterRegistry()
         );
     }
 
@@ -243,6 +258,85 @@ class PanchangamIntegrationTest {
         assertNotNull(regularResponse.foodStatus().message(), "Food status message should be present");
     }
 
+    @Test
+    @DisplayName("Field selection computes only the requested parts")
+    void testFieldSelection() {
+        LocalDate date = LocalDate.of(2026, 1, 4);
+        PanchangamResponse response = panchangamService.getDailyPanchangam(
+                date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ,
+                EnumSet.of(PanchangamField.NAKSHATRAM, PanchangamField.TIMINGS));
+
+        assertEquals(date, response.date(), "Date is always present");
+        assertNotNull(response.nakshatram(), "Nakshatram was requested");
+        assertNotNull(response.timings(), "Timings were requested");
+        assertNull(response.tamilDate(), "Tamil date was not requested");
+        assertNull(response.thithi(), "Thithi was not requested");
+        assertNull(response.yogam(), "Yogam was not requested");
+        assertNull(response.karanam(), "Karanam was not requested");
+        assertNull(response.foodStatus(), "Food status was not requested");
+    }
+
+    @Test
+    @DisplayName("Sparse and full responses agree and do not leak into each other")
+    void testFieldSelectionMatchesFullResponse() {
+        LocalDate date = LocalDate.of(2026, 1, 4);
+
+        // Sparse first, so the full request cannot be served from the sparse entry
+        PanchangamResponse sparse = panchangamService.getDailyPanchangam(
+                date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ,
+                EnumSet.of(PanchangamField.FOOD_STATUS));
+        PanchangamResponse full = panchangamService.getDailyPanchangam(
+                date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+
+        assertNotNull(full.yogam(), "Full response must not come from a sparse cache entry");
+        assertEquals(full.foodStatus(), sparse.foodStatus(),
+                "Food status without thithi should match the full calculation");
+
+        // Now the full entry is cached, subsets are projected from it
+        PanchangamResponse projected = panchangamService.getDailyPanchangam(
+                date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ,
+                EnumSet.of(PanchangamField.YOGAM));
+        assertEquals(full.yogam(), projected.yogam());
+        assertNull(projected.timings(), "Projection should drop unrequested fields");
+    }
+
+    @Test
+    @DisplayName("Prefetched neighbours are identical to days computed on demand")
+    void testPrefetchedDaysMatchOnDemand() throws InterruptedException {
+        PanchangamCache cache = new PanchangamCache(1000);
+        Prefetcher prefetcher = new Prefetcher(true, 1, 8, new SimpleMeterRegistry());
+        PanchangamService prefetching = newService(cache, prefetcher);
+        LocationKey chennai = LocationKey.of(CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+        try {
+            // A month includes nakshatrams and thithis in force at two consecutive sunrises
+            LocalDate end = LocalDate.of(2026, 1, 31);
+            for (LocalDate date = LocalDate.of(2026, 1, 1); date.isBefore(end); date = date.plusDays(3)) {
+                prefetching.getDailyPanchangam(date, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ);
+                for (LocalDate adjacent : List.of(date.minusDays(1), date.plusDays(1))) {
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                    while (!cache.containsFull(adjacent, chennai) && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                    }
+                    assertEquals(
+                            panchangamService.computeDailyPanchangam(adjacent, CHENNAI_LAT, CHENNAI_LNG, CHENNAI_TZ),
+                            cache.get(adjacent, chennai, PanchangamField.ALL),
+                            "Prefetched " + adjacent + " should match the on-demand result");
+                }
+            }
+        } finally {
+            prefetcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown field names are rejected")
+    void testUnknownField() {
+        assertThrows(IllegalArgumentException.class, () -> PanchangamField.parse("thithi,planets"));
+        assertEquals(PanchangamField.ALL, PanchangamField.parse(null));
+        assertEquals(EnumSet.of(PanchangamField.THITHI, PanchangamField.YOGAM),
+                PanchangamField.parse("thithi, yogam"));
+    }
+
     /**
      * Parameterized test with known panchangam reference data.
      * These values are approximate and allow for minor variations.
@@ -2,6 +2,7 @@ package com.magizh.calendar.service;
 
 import com.magizh.calendar.model.Thithi;
 import com.magizh.calendar.model.Thithi.Paksha;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,7 +36,7 @@ class ThithiCalculatorTest {
 
     @BeforeEach
     void setUp() {
-        astronomyService = new AstronomyService();
+        astronomyService = new AstronomyService(new SimpleMeterRegistry());
         astronomyService.init();
         thithiCalculator = new ThithiCalculator(astronomyService);
     }
@@ -116,6 +117,17 @@ class ThithiCalculatorTest {
         assertFalse(thithiCalculator.isSpecialThithi(22), "Krishna Saptami should not be special");
     }
 
+    @Test
+    @DisplayName("Thithi numbers round-trip through name and paksha")
+    void testNumberOf() {
+        for (int number = 1; number <= 30; number++) {
+            Thithi thithi = new Thithi(thithiCalculator.getThithiName(number), thithiCalculator.getPaksha(number), null);
+            assertEquals(number, ThithiCalculator.numberOf(thithi), thithi.name() + " " + thithi.paksha());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> ThithiCalculator.numberOf(new Thithi("Amavasya", Paksha.KRISHNA, null)));
+    }
+
     @Test
     @DisplayName("Thithi calculation returns valid result")
     void testThithiCalculation() {
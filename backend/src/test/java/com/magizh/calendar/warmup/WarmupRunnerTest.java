@@ -0,0 +1,113 @@
+package com.magizh.calendar.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magizh.calendar.cache.PanchangamCache;
+import com.magizh.calendar.config.CityProperties;
+import com.magizh.calendar.config.CityProperties.City;
+import com.magizh.calendar.service.AstronomyService;
+import com.magizh.calendar.service.GowriCalculator;
+import com.magizh.calendar.service.KaranamCalculator;
+import com.magizh.calendar.service.NakshatramCalculator;
+import com.magizh.calendar.service.PanchangamService;
+import com.magizh.calendar.service.TamilCalendarService;
+import com.magizh.calendar.service.ThithiCalculator;
+import com.magizh.calendar.service.TimingsCalculator;
+import com.magizh.calendar.service.YogamCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Warmup Runner Tests")
+class WarmupRunnerTest {
+
+    private PanchangamService panchangamService;
+    private PanchangamCache cache;
+    private CityProperties cities;
+    private final List<AvailabilityState> readiness = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AstronomyService astronomyService = new AstronomyService(registry);
+        astronomyService.init();
+        cache = new PanchangamCache(1000);
+        panchangamService = new PanchangamService(
+                astronomyService,
+                new NakshatramCalculator(astronomyService),
+                new ThithiCalculator(astronomyService),
+                new YogamCalculator(astronomyService, registry),
+                new KaranamCalculator(astronomyService),
+                new TimingsCalculator(new GowriCalculator()),
+                new TamilCalendarService(astronomyService),
+                cache,
+                registry
+        );
+        cities = new CityProperties(List.of(
+                new City("Chennai", 13.0827, 80.2707, "Asia/Kolkata"),
+                new City("London", 51.5074, -0.1278, "Europe/London")
+        ));
+    }
+
+    private WarmupRunner runner(boolean enabled, long timeBudgetMs) {
+        return new WarmupRunner(panchangamService, cities, new ObjectMapper().findAndRegisterModules(),
+                event -> {
+                    if (event instanceof AvailabilityChangeEvent<?> change) {
+                        readiness.add(change.getState());
+                    }
+                },
+                enabled, timeBudgetMs, 0.02);
+    }
+
+    @Test
+    @DisplayName("Readiness refuses traffic until warmup finishes")
+    void testReadinessGate() {
+        WarmupRunner runner = runner(true, 60_000);
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), readiness);
+        assertTrue(runner.isFinished());
+    }
+
+    @Test
+    @DisplayName("Warmup leaves the cache to precompute")
+    void testBypassesCache() {
+        WarmupRunner runner = runner(true, 60_000);
+        runner.warmUp();
+
+        assertEquals(0, cache.size(), "JIT rounds must not go through the cache");
+        assertTrue(runner.rounds() >= WarmupRunner.SETTLED_ROUNDS || runner.outcome().equals("time budget reached"));
+    }
+
+    @Test
+    @DisplayName("Exhausted time budget still ends warmup")
+    void testTimeBudget() {
+        WarmupRunner runner = runner(true, 0);
+        runner.warmUp();
+
+        assertTrue(runner.isFinished());
+        assertEquals("time budget reached", runner.outcome());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, readiness.get(readiness.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Disabled warmup is ready immediately")
+    void testDisabled() {
+        WarmupRunner runner = runner(false, 60_000);
+        runner.run(new DefaultApplicationArguments());
+
+        assertTrue(runner.isFinished());
+        assertEquals("disabled", runner.outcome());
+        assertEquals(0, runner.rounds());
+        assertTrue(readiness.isEmpty(), "Readiness is left to Spring");
+    }
+}
@@ -0,0 +1,133 @@
+#!/bin/bash
+
+# Compare the native executable with the JVM jar:
+# 1. Smoke test: /api/panchangam/daily must return identical JSON from both
+#    for a fixed set of dates and cities (exits 1 on any difference)
+# 2. Benchmark: startup time, RSS idle and under load, per-request latency
+# Writes backend/target/native-report.md.
+# Both run with rate limiting, warmup and precompute off, so every timed
+# request is computed on an otherwise idle process; any non-2xx fails the run.
+# Usage: ./compare-native.sh [requests]
+# Build first: cd backend && ./mvnw package -DskipTests && ./mvnw -Pnative native:compile -DskipTests
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+BACKEND_DIR="$SCRIPT_DIR/../backend"
+
+REQUESTS=${1:-500}
+PORT=${PORT:-18080}
+API_KEY=${API_KEY_DEV:-dev-key-for-local-testing}
+JAR=target/magizh-calendar-api-0.0.1-SNAPSHOT.jar
+NATIVE=target/magizh-calendar-api
+OUT=target/native-compare
+
+cd "$BACKEND_DIR" || exit 1
+
+for artifact in "$JAR" "$NATIVE"; do
+    if [ ! -f "$artifact" ]; then
+        echo "❌ Missing $artifact, see the build command in this script's header"
+        exit 1
+    fi
+done
+
+# Fixed smoke-test inputs: edge years, Tamil new year, DST changes, far south and north
+SMOKE_DATES="1950-01-01 1999-12-31 2024-03-10 2024-04-14 2024-10-31 2050-12-31"
+SMOKE_LOCATIONS="13.0827,80.2707,Asia/Kolkata 40.7128,-74.0060,America/New_York \
+51.5074,-0.1278,Europe/London -33.8688,151.2093,Australia/Sydney 64.1466,-21.9426,Atlantic/Reykjavik"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+rss_mb() {
+    echo $(( $(ps -o rss= -p "$1") / 1024 ))
+}
+
+daily_url() {
+    local date=$1 lat=$2 lng=$3 tz=$4
+    echo "http://localhost:$PORT/api/panchangam/daily?date=$date&lat=$lat&lng=$lng&timezone=$tz"
+}
+
+# run <label> <command...>: start, capture smoke outputs, measure, stop
+run() {
+    local label=$1
+    shift
+    mkdir -p "$OUT/$label"
+
+    local start pid
+    start=$(now_ms)
+    "$@" --server.port="$PORT" \
+        --api.ratelimit.enabled=false \
+        --api.warmup.enabled=false \
+        --api.precompute.enabled=false \
+        > "$OUT/$label.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/panchangam/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "❌ $label failed to start, see $OUT/$label.log"
+            exit 1
+        fi
+        sleep 0.01
+    done
+    local startup=$(( $(now_ms) - start ))
+    local rss_idle
+    rss_idle=$(rss_mb "$pid")
+
+    for date in $SMOKE_DATES; do
+        for location in $SMOKE_LOCATIONS; do
+            IFS=, read -r lat lng tz <<< "$location"
+            curl -sf -H "X-API-Key: $API_KEY" "$(daily_url "$date" "$lat" "$lng" "$tz")" \
+                | python3 -c "import json, sys; print(json.dumps(json.load(sys.stdin), indent=1, sort_keys=True))" \
+                > "$OUT/$label/${date}_${tz//\//-}.json"
+        done
+    done
+
+    # Distinct dates, so every request computes
+    for i in $(seq 1 "$REQUESTS"); do
+        curl -s -o /dev/null -w "%{http_code} %{time_total}\n" -H "X-API-Key: $API_KEY" \
+            "$(daily_url "$(date -d "2000-01-01 + $i days" +%Y-%m-%d)" 13.0827 80.2707 Asia/Kolkata)"
+    done > "$OUT/$label-responses.txt"
+    local failed
+    failed=$(awk '$1 !~ /^2/' "$OUT/$label-responses.txt" | wc -l)
+    if [ "$failed" -gt 0 ]; then
+        echo "❌ $label: $failed of $REQUESTS timed requests were not 2xx, see $OUT/$label-responses.txt"
+        kill "$pid"
+        exit 1
+    fi
+    awk '{ print $2 }' "$OUT/$label-responses.txt" | sort -n > "$OUT/$label-latency.txt"
+    local rss_load
+    rss_load=$(rss_mb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null
+
+    local p50 p99
+    p50=$(awk -v n="$REQUESTS" 'NR == int(n * 0.50) { printf "%.1f", $1 * 1000 }' "$OUT/$label-latency.txt")
+    p99=$(awk -v n="$REQUESTS" 'NR == int(n * 0.99) { printf "%.1f", $1 * 1000 }' "$OUT/$label-latency.txt")
+    echo "| $label | $startup | $rss_idle | $rss_load | $p50 | $p99 |" >> "$OUT/rows.md"
+}
+
+rm -rf "$OUT" && mkdir -p "$OUT"
+echo "☕ JVM..."
+run jvm java -jar "$JAR"
+echo "⚡ Native..."
+run native "./$NATIVE"
+
+{
+    echo "# Native vs JVM"
+    echo ""
+    echo "$(date -u +%Y-%m-%dT%H:%MZ), commit $(git rev-parse --short HEAD), $REQUESTS uncached daily requests"
+    echo ""
+    echo "| Build | Startup ms | RSS idle MB | RSS after load MB | p50 ms | p99 ms |"
+    echo "|-------|-----------:|------------:|------------------:|-------:|-------:|"
+    cat "$OUT/rows.md"
+} > target/native-report.md
+cat target/native-report.md
+echo ""
+
+if diff -r "$OUT/jvm" "$OUT/native" > "$OUT/smoke.diff"; then
+    echo "✅ Smoke test passed: identical /daily output for $(ls "$OUT/jvm" | wc -l) requests"
+else
+    echo "❌ Smoke test failed: native output differs from the JVM, see $OUT/smoke.diff"
+    head -20 "$OUT/smoke.diff"
+    exit 1
+fi
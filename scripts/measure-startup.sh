@@ -0,0 +1,76 @@
+#!/bin/bash
+
+# Measure startup of the backend: time until the health check answers and
+# until the first daily panchangam is served, for the plain jar, the AOT
+# build and AOT + AppCDS. Prints one line per run and the medians.
+# Usage: ./measure-startup.sh [runs]
+# Build first: cd backend && ./mvnw -Pstartup package -DskipTests
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+BACKEND_DIR="$SCRIPT_DIR/../backend"
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+API_KEY=${API_KEY_DEV:-dev-key-for-local-testing}
+JAR_NAME=magizh-calendar-api-0.0.1-SNAPSHOT.jar
+
+cd "$BACKEND_DIR" || exit 1
+
+if [ ! -f "target/startup/application.jsa" ]; then
+    echo "❌ No startup build found. Run: ./mvnw -Pstartup package -DskipTests"
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# measure <label> <java args...>
+measure() {
+    local label=$1
+    shift
+    local ready_times=() first_times=()
+
+    for run in $(seq 1 "$RUNS"); do
+        local start ready first pid
+        start=$(now_ms)
+        java "$@" --server.port="$PORT" > "target/startup-$label.log" 2>&1 &
+        pid=$!
+
+        until curl -sf "http://localhost:$PORT/api/panchangam/health" > /dev/null; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "❌ $label failed to start, see target/startup-$label.log"
+                return 1
+            fi
+            sleep 0.02
+        done
+        ready=$(now_ms)
+
+        curl -sf -H "X-API-Key: $API_KEY" \
+            "http://localhost:$PORT/api/panchangam/daily?date=$(date +%Y-%m-%d)" > /dev/null
+        first=$(now_ms)
+
+        kill "$pid"
+        wait "$pid" 2> /dev/null
+
+        ready_times+=($((ready - start)))
+        first_times+=($((first - start)))
+        printf "%-10s run %d: ready %6d ms, first request %6d ms\n" \
+            "$label" "$run" $((ready - start)) $((first - start))
+    done
+
+    printf "%-10s median: ready %6d ms, first request %6d ms\n\n" "$label" \
+        "$(printf '%s\n' "${ready_times[@]}" | median)" \
+        "$(printf '%s\n' "${first_times[@]}" | median)"
+}
+
+echo "⏱  Measuring startup, $RUNS runs each"
+echo ""
+measure jar -jar "target/$JAR_NAME"
+measure aot -Dspring.aot.enabled=true -jar "target/startup/$JAR_NAME"
+measure aot+cds -XX:SharedArchiveFile=target/startup/application.jsa -Dspring.aot.enabled=true \
+    -jar "target/startup/$JAR_NAME"